@@ -0,0 +1,66 @@
+package com.petstore.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.models.Order;
+import com.petstore.models.Pet;
+import com.petstore.utils.TestDataGenerator;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed payloads and in-memory responses shared by the benchmarks, so no benchmark touches the network
+ */
+public final class BenchmarkFixtures {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private BenchmarkFixtures() {
+    }
+    
+    public static Pet pet() {
+        Pet pet = TestDataGenerator.generatePet();
+        pet.setId(424242L);
+        pet.setName("Benchmark Pet");
+        pet.setStatus("available");
+        return pet;
+    }
+    
+    public static Order order() {
+        return new Order(1001L, 424242L, 2, "2024-01-01T10:00:00.000+0000", "placed", false);
+    }
+    
+    public static String json(Object value) {
+        try {
+            return MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize benchmark fixture", e);
+        }
+    }
+    
+    /**
+     * Body of a findByStatus response with the given number of pets
+     */
+    public static String petListJson(int size) {
+        List<Pet> pets = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Pet pet = pet();
+            pet.setId(1000L + i);
+            pets.add(pet);
+        }
+        return json(pets);
+    }
+    
+    /**
+     * A 200 application/json response as REST Assured would return it after the body has been read
+     */
+    public static Response jsonResponse(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+}
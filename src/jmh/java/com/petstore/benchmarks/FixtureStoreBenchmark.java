@@ -0,0 +1,93 @@
+package com.petstore.benchmarks;
+
+import com.petstore.fixtures.FixtureCodecs;
+import com.petstore.fixtures.FixtureStore;
+import com.petstore.models.Pet;
+import com.petstore.utils.ObjectMapperProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loading a large pet fixture set into the heap as JSON versus opening its compiled, memory-mapped form,
+ * and the cost of decoding a single record from the mapping
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureStoreBenchmark {
+
+    @Param({"100000"})
+    int size;
+
+    private Path directory;
+    private Path json;
+    private Path compiled;
+    private FixtureStore<Pet> store;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("fixture-benchmark");
+        json = directory.resolve("pets.json");
+        try (Writer writer = Files.newBufferedWriter(json)) {
+            writer.write('[');
+            for (int i = 0; i < size; i++) {
+                Pet pet = BenchmarkFixtures.pet();
+                pet.setId(1000L + i);
+                writer.write((i == 0 ? "" : ",") + BenchmarkFixtures.json(pet));
+            }
+            writer.write(']');
+        }
+        store = FixtureStore.open(json, directory, FixtureCodecs.PETS);
+        compiled = directory.resolve("pets.json.bin");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 10)
+    public Pet[] loadJsonIntoHeap() throws IOException {
+        return ObjectMapperProvider.getInstance().readerFor(Pet[].class).readValue(json.toFile());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Measurement(iterations = 10)
+    public FixtureStore<Pet> openCompiledStore() throws IOException {
+        return FixtureStore.map(compiled, FixtureCodecs.PETS);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Pet decodeRandomPet() {
+        return store.get(ThreadLocalRandom.current().nextInt(store.size()));
+    }
+}
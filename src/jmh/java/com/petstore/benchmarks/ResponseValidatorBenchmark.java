@@ -0,0 +1,103 @@
+package com.petstore.benchmarks;
+
+import com.petstore.utils.ResponseValidator;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the assertions a step makes on one response. Every invocation gets a fresh response,
+ * as a step would, so the cost includes parsing the body. The jsonPath* benchmarks repeat the
+ * lookups the way ResponseValidator did before it parsed each body only once.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseValidatorBenchmark {
+    @Param({"50", "500"})
+    private int findByStatusSize;
+    
+    private String petJson;
+    private String petListJson;
+    private Response petResponse;
+    private Response petListResponse;
+    
+    @Setup(Level.Trial)
+    public void setUpPayloads() {
+        petJson = BenchmarkFixtures.json(BenchmarkFixtures.pet());
+        petListJson = BenchmarkFixtures.petListJson(findByStatusSize);
+    }
+    
+    @Setup(Level.Invocation)
+    public void setUpResponses() {
+        petResponse = BenchmarkFixtures.jsonResponse(petJson);
+        petListResponse = BenchmarkFixtures.jsonResponse(petListJson);
+    }
+    
+    /**
+     * The checks made by "the response should contain the pet details"
+     */
+    @Benchmark
+    public void validatePetDetails() {
+        ResponseValidator.validateFieldExists(petResponse, "id");
+        ResponseValidator.validateFieldExists(petResponse, "name");
+        ResponseValidator.validateFieldExists(petResponse, "status");
+        ResponseValidator.validateFieldValue(petResponse, "name", "Benchmark Pet");
+        ResponseValidator.validateFieldValue(petResponse, "status", "available");
+    }
+    
+    @Benchmark
+    public Object jsonPathPetDetails() {
+        Object last = null;
+        for (String path : new String[] {"id", "name", "status", "name", "status"}) {
+            last = petResponse.jsonPath().get(path);
+            petResponse.getBody().asString();
+        }
+        return last;
+    }
+    
+    /**
+     * Status, size and first element checks on a findByStatus response
+     */
+    @Benchmark
+    public void validateFindByStatus() {
+        ResponseValidator.validateStatusCode(petListResponse, 200);
+        ResponseValidator.validateArraySize(petListResponse, "$", findByStatusSize);
+        ResponseValidator.validateArrayNotEmpty(petListResponse, "$");
+        ResponseValidator.validateFieldValue(petListResponse, "[0].status", "available");
+    }
+    
+    /**
+     * The same checks with the streaming validators, plus a status check on every element
+     */
+    @Benchmark
+    public void validateFindByStatusStreaming() {
+        ResponseValidator.validateStatusCode(petListResponse, 200);
+        ResponseValidator.validateArraySizeStreaming(petListResponse, "$", findByStatusSize);
+        ResponseValidator.validateArrayNotEmptyStreaming(petListResponse, "$");
+        ResponseValidator.validateEveryElementFieldValue(petListResponse, "$", "status", "available");
+    }
+    
+    @Benchmark
+    public Object jsonPathFindByStatus() {
+        petListResponse.getBody().asString();
+        petListResponse.jsonPath().getList("$").size();
+        petListResponse.jsonPath().getList("$").size();
+        return petListResponse.jsonPath().get("[0].status");
+    }
+}
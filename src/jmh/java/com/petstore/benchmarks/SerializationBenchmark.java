@@ -0,0 +1,96 @@
+package com.petstore.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.petstore.models.Order;
+import com.petstore.models.Pet;
+import com.petstore.utils.ObjectMapperProvider;
+import io.restassured.response.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning Pet and Order models into request bodies and response bodies back into models,
+ * with a default ObjectMapper ("default") and with the shared mapper ApiClient uses ("shared")
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+    @Param({"default", "shared"})
+    private String mapper;
+    
+    private ObjectWriter writer;
+    private ObjectReader petReader;
+    private ObjectReader orderReader;
+    private Pet pet;
+    private Order order;
+    private byte[] petJson;
+    private byte[] orderJson;
+    private Response petResponse;
+    private ObjectMapperProvider provider;
+    
+    @Setup
+    public void setUp() {
+        if ("shared".equals(mapper)) {
+            provider = ObjectMapperProvider.getInstance();
+            writer = provider.writer();
+            petReader = provider.readerFor(Pet.class);
+            orderReader = provider.readerFor(Order.class);
+        } else {
+            ObjectMapper defaultMapper = new ObjectMapper();
+            writer = defaultMapper.writer();
+            petReader = defaultMapper.readerFor(Pet.class);
+            orderReader = defaultMapper.readerFor(Order.class);
+        }
+        pet = BenchmarkFixtures.pet();
+        order = BenchmarkFixtures.order();
+        petJson = BenchmarkFixtures.json(pet).getBytes();
+        orderJson = BenchmarkFixtures.json(order).getBytes();
+        petResponse = BenchmarkFixtures.jsonResponse(BenchmarkFixtures.json(pet));
+    }
+    
+    @Benchmark
+    public byte[] serializePet() throws Exception {
+        return writer.writeValueAsBytes(pet);
+    }
+    
+    @Benchmark
+    public Pet deserializePet() throws Exception {
+        return petReader.readValue(petJson);
+    }
+    
+    @Benchmark
+    public byte[] serializeOrder() throws Exception {
+        return writer.writeValueAsBytes(order);
+    }
+    
+    @Benchmark
+    public Order deserializeOrder() throws Exception {
+        return orderReader.readValue(orderJson);
+    }
+    
+    /**
+     * Deserialization of a response the way the step definitions do it: through REST Assured's object mapping
+     * for "default", through ObjectMapperProvider.read for "shared"
+     */
+    @Benchmark
+    public Pet responseAsPet() {
+        return provider != null ? provider.read(petResponse, Pet.class) : petResponse.as(Pet.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.petstore.benchmarks;
+
+import com.github.javafaker.Faker;
+import com.petstore.models.Pet;
+import com.petstore.utils.IdAllocator;
+import com.petstore.utils.TestDataGenerator;
+import com.petstore.utils.TestDataPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating test data, single threaded and with the contention of parallel scenarios
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TestDataGeneratorBenchmark {
+    private static final Faker FAKER = new Faker();
+    
+    @Benchmark
+    public Pet generatePet() {
+        return TestDataGenerator.generatePet();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public Pet generatePetContended() {
+        return TestDataGenerator.generatePet();
+    }
+    
+    /**
+     * A fresh allocator per iteration, so fast iterations never run out of sequence numbers
+     */
+    @State(Scope.Benchmark)
+    public static class Allocator {
+        IdAllocator ids;
+        
+        @Setup(Level.Iteration)
+        public void setUp() {
+            ids = new IdAllocator(0, 0);
+        }
+    }
+    
+    @Benchmark
+    public long generatePetId(Allocator allocator) {
+        return allocator.ids.nextId();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public long generatePetIdContended(Allocator allocator) {
+        return allocator.ids.nextId();
+    }
+    
+    /**
+     * Previous id generation: random ids from a shared Faker, which collide and contend on one Random
+     */
+    @Benchmark
+    public long fakerPetId() {
+        return FAKER.number().numberBetween(1000L, 999999L);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public long fakerPetIdContended() {
+        return FAKER.number().numberBetween(1000L, 999999L);
+    }
+    
+    /**
+     * Handing out a copy of a pre-generated pet instead of generating one with Faker
+     */
+    @Benchmark
+    public Pet pooledPet() {
+        return TestDataPool.getInstance().nextPet();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public Pet pooledPetContended() {
+        return TestDataPool.getInstance().nextPet();
+    }
+    
+    @Benchmark
+    public String generatePetName() {
+        return TestDataGenerator.generatePetName();
+    }
+}
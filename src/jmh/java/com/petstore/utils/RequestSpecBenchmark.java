@@ -0,0 +1,57 @@
+package com.petstore.utils;
+
+import com.petstore.benchmarks.BenchmarkFixtures;
+import com.petstore.models.Pet;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the request specification ApiClient sends, without sending it.
+ * Lives in com.petstore.utils to reach the package-private ApiClient#getBaseRequest()
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestSpecBenchmark {
+    private ApiClient apiClient;
+    private Pet pet;
+    private Map<String, Object> pathParams;
+    
+    @Setup
+    public void setUp() {
+        apiClient = ApiClient.getInstance();
+        pet = BenchmarkFixtures.pet();
+        pathParams = Collections.singletonMap("petId", pet.getId());
+    }
+    
+    @Benchmark
+    public RequestSpecification baseRequest() {
+        return apiClient.getBaseRequest();
+    }
+    
+    @Benchmark
+    public RequestSpecification requestWithBody() {
+        return apiClient.getBaseRequest().body(pet);
+    }
+    
+    @Benchmark
+    public RequestSpecification requestWithPathParams() {
+        return apiClient.getBaseRequest().pathParams(pathParams);
+    }
+}
@@ -0,0 +1,54 @@
+package com.petstore.cleanup;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable summary of one or more cleanup runs
+ */
+public class CleanupStats {
+    private final int deleted;
+    private final int alreadyGone;
+    private final List<String> leaked;
+    private final long elapsedNanos;
+
+    public CleanupStats(int deleted, int alreadyGone, List<String> leaked, long elapsedNanos) {
+        this.deleted = deleted;
+        this.alreadyGone = alreadyGone;
+        this.leaked = Collections.unmodifiableList(leaked);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    /**
+     * Resources that no longer existed when the cleanup tried to delete them (404)
+     */
+    public int getAlreadyGone() {
+        return alreadyGone;
+    }
+
+    /**
+     * Resources that could not be deleted and remain in the store
+     */
+    public List<String> getLeaked() {
+        return leaked;
+    }
+
+    public int getTotal() {
+        return deleted + alreadyGone + leaked.size();
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CleanupStats{resources=%d, deleted=%d, alreadyGone=%d, leaked=%d, time=%.1f ms%s}",
+                getTotal(), deleted, alreadyGone, leaked.size(), getElapsedMillis(),
+                leaked.isEmpty() ? "" : ", leakedResources=" + leaked);
+    }
+}
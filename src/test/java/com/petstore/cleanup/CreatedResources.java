@@ -0,0 +1,142 @@
+package com.petstore.cleanup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resources created by one scenario that still have to be deleted after it.
+ * ApiClient registers every successful create with the registry bound to the calling thread;
+ * creates made outside a scenario go to the suite registry, which is cleaned up after all scenarios.
+ */
+public class CreatedResources {
+    private static final CreatedResources SUITE = new CreatedResources();
+    private static final ThreadLocal<CreatedResources> CURRENT = new ThreadLocal<>();
+
+    private final Set<Resource> resources = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Registry of the scenario running on this thread, or the suite registry outside a scenario
+     */
+    public static CreatedResources current() {
+        CreatedResources registry = CURRENT.get();
+        return registry != null ? registry : SUITE;
+    }
+
+    public static CreatedResources suite() {
+        return SUITE;
+    }
+
+    /**
+     * Make this registry the one ApiClient registers creates with on the calling thread
+     */
+    public void bindToCurrentThread() {
+        CURRENT.set(this);
+    }
+
+    public static void unbindCurrentThread() {
+        CURRENT.remove();
+    }
+
+    public void add(Resource resource) {
+        resources.add(resource);
+    }
+
+    /**
+     * Forget a resource the scenario deleted itself
+     */
+    public void remove(Resource resource) {
+        resources.remove(resource);
+    }
+
+    public int size() {
+        return resources.size();
+    }
+
+    /**
+     * Remove and return all registered resources
+     */
+    public List<Resource> drain() {
+        List<Resource> drained = new ArrayList<>(resources.size());
+        for (Resource resource : resources) {
+            if (resources.remove(resource)) {
+                drained.add(resource);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * A created resource, identified by the endpoint that deletes it and its id, e.g. /pet/{petId} and 42
+     */
+    public static final class Resource {
+        private final String endpoint;
+        private final String idParam;
+        private final String id;
+
+        public Resource(String endpoint, Object id) {
+            this.endpoint = endpoint;
+            this.idParam = idParamOf(endpoint);
+            this.id = String.valueOf(id);
+        }
+
+        /**
+         * The resource addressed by a request to the given endpoint, or null if the id parameter is missing
+         */
+        public static Resource fromPathParams(String endpoint, Map<String, Object> pathParams) {
+            Object id = pathParams == null ? null : pathParams.get(idParamOf(endpoint));
+            return id == null ? null : new Resource(endpoint, id);
+        }
+
+        private static String idParamOf(String endpoint) {
+            int open = endpoint.lastIndexOf('{');
+            int close = endpoint.lastIndexOf('}');
+            if (open < 0 || close < open) {
+                throw new IllegalArgumentException("Endpoint has no path parameter for the id: " + endpoint);
+            }
+            return endpoint.substring(open + 1, close);
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public String getIdParam() {
+            return idParam;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Map<String, Object> pathParams() {
+            return Collections.singletonMap(idParam, id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Resource)) {
+                return false;
+            }
+            Resource resource = (Resource) other;
+            return endpoint.equals(resource.endpoint) && id.equals(resource.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, id);
+        }
+
+        @Override
+        public String toString() {
+            return endpoint.replace("{" + idParam + "}", id);
+        }
+    }
+}
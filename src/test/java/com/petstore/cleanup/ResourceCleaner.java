@@ -0,0 +1,84 @@
+package com.petstore.cleanup;
+
+import com.petstore.config.TestConfig;
+import com.petstore.utils.ApiClient;
+import com.petstore.utils.BoundedFanOut;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes registered resources concurrently, keeping at most {@code parallelism} deletes in flight,
+ * and keeps running totals for the end-of-suite report
+ */
+public class ResourceCleaner {
+    private static final LongAdder TOTAL_DELETED = new LongAdder();
+    private static final LongAdder TOTAL_ALREADY_GONE = new LongAdder();
+    private static final LongAdder TOTAL_NANOS = new LongAdder();
+    private static final ConcurrentLinkedQueue<String> TOTAL_LEAKED = new ConcurrentLinkedQueue<>();
+
+    private final ApiClient apiClient;
+    private final int parallelism;
+
+    public ResourceCleaner() {
+        this(ApiClient.getInstance(), TestConfig.getInstance().getCleanupParallelism());
+    }
+
+    public ResourceCleaner(ApiClient apiClient, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1 but was " + parallelism);
+        }
+        this.apiClient = apiClient;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Delete everything in the registry and wait for the deletes to finish.
+     * A 404 counts as already deleted; any other outcome leaves the resource leaked.
+     */
+    public CleanupStats clean(CreatedResources registry) {
+        List<CreatedResources.Resource> resources = registry.drain();
+        if (resources.isEmpty()) {
+            return new CleanupStats(0, 0, new ArrayList<>(), 0);
+        }
+        // true for deleted, false for already gone; any other status leaves the resource leaked
+        BoundedFanOut.Result<CreatedResources.Resource, Boolean> deletes = BoundedFanOut.run(resources, parallelism,
+                resource -> apiClient.deleteAsync(resource.getEndpoint(), resource.pathParams()),
+                response -> {
+                    if (response.getStatusCode() != 200 && response.getStatusCode() != 404) {
+                        throw BoundedFanOut.Failure.status(response);
+                    }
+                    return response.getStatusCode() == 200;
+                });
+        int deleted = 0;
+        int alreadyGone = 0;
+        for (boolean wasDeleted : deletes.getValues()) {
+            if (wasDeleted) {
+                deleted++;
+            } else {
+                alreadyGone++;
+            }
+        }
+        List<String> leaked = new ArrayList<>();
+        for (BoundedFanOut.Outcome<CreatedResources.Resource, Boolean> failure : deletes.getFailures()) {
+            leaked.add(failure.getItem() + " (" + failure.getFailure() + ")");
+        }
+        long elapsed = deletes.getElapsed().toNanos();
+
+        TOTAL_DELETED.add(deleted);
+        TOTAL_ALREADY_GONE.add(alreadyGone);
+        TOTAL_NANOS.add(elapsed);
+        TOTAL_LEAKED.addAll(leaked);
+        return new CleanupStats(deleted, alreadyGone, leaked, elapsed);
+    }
+
+    /**
+     * Totals over all cleanup runs so far
+     */
+    public static CleanupStats totals() {
+        return new CleanupStats(TOTAL_DELETED.intValue(), TOTAL_ALREADY_GONE.intValue(),
+                new ArrayList<>(TOTAL_LEAKED), TOTAL_NANOS.sum());
+    }
+}
@@ -1,5 +1,7 @@
 package com.petstore.config;
 
+import com.petstore.stub.PetstoreStubServer;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
@@ -8,18 +10,21 @@ import java.util.Properties;
  * Configuration class for managing test environment settings
  */
 public class TestConfig {
-    private static TestConfig instance;
     private Properties properties;
     
     private TestConfig() {
         loadProperties();
     }
     
+    /**
+     * Lazily created on first use; the holder class makes initialisation thread-safe without locking
+     */
+    private static class Holder {
+        private static final TestConfig INSTANCE = new TestConfig();
+    }
+    
     public static TestConfig getInstance() {
-        if (instance == null) {
-            instance = new TestConfig();
-        }
-        return instance;
+        return Holder.INSTANCE;
     }
     
     private void loadProperties() {
@@ -44,12 +49,28 @@ public class TestConfig {
         properties.setProperty("retry.count", "3");
     }
     
+    /**
+     * Base URL of the API under test; base.url=stub starts the in-process Petstore stub server
+     * and returns its address
+     */
     public String getBaseUrl() {
-        return properties.getProperty("base.url", "http://localhost");
+        String baseUrl = getProperty("base.url", "http://localhost");
+        return PetstoreStubServer.BASE_URL_KEY.equals(baseUrl) ? PetstoreStubServer.getShared().getBaseUrl() : baseUrl;
+    }
+    
+    /**
+     * Whether the server under test sells each pet only once, so concurrent orders for one pet must not
+     * oversell it. The stub server does; the public demo server accepts every order.
+     * Defaults to true only against the stub.
+     */
+    public boolean isStoreReservingStock() {
+        String configured = getProperty("store.reserves.stock");
+        return configured != null ? Boolean.parseBoolean(configured)
+                : PetstoreStubServer.BASE_URL_KEY.equals(getProperty("base.url", "http://localhost"));
     }
     
     public String getApiVersion() {
-        return properties.getProperty("api.version", "v2");
+        return getProperty("api.version", "v2");
     }
     
     public String getFullApiUrl() {
@@ -57,18 +78,205 @@ public class TestConfig {
     }
     
     public int getTimeout() {
-        return Integer.parseInt(properties.getProperty("timeout", "30"));
+        return Integer.parseInt(getProperty("timeout", "30"));
     }
     
     public int getRetryCount() {
-        return Integer.parseInt(properties.getProperty("retry.count", "3"));
+        return Integer.parseInt(getProperty("retry.count", "3"));
+    }
+    
+    public int getConnectTimeoutMillis() {
+        return Integer.parseInt(getProperty("http.connect.timeout.ms", "5000"));
+    }
+    
+    /**
+     * Longest wait for response data, defaults to the timeout setting
+     */
+    public int getReadTimeoutMillis() {
+        return Integer.parseInt(getProperty("http.read.timeout.ms", String.valueOf(getTimeout() * 1000)));
+    }
+    
+    /**
+     * Read timeout for an endpoint such as "/pet/{petId}", overridden with http.read.timeout.ms./pet/{petId}
+     */
+    public int getReadTimeoutMillis(String endpoint) {
+        return Integer.parseInt(getProperty("http.read.timeout.ms." + endpoint, String.valueOf(getReadTimeoutMillis())));
+    }
+    
+    /**
+     * Overall time allowed for a request including retries, defaults to the timeout setting
+     */
+    public int getDeadlineMillis() {
+        return Integer.parseInt(getProperty("http.deadline.ms", String.valueOf(getTimeout() * 1000)));
+    }
+    
+    /**
+     * Deadline for an endpoint such as "/pet/{petId}", overridden with http.deadline.ms./pet/{petId}
+     */
+    public int getDeadlineMillis(String endpoint) {
+        return Integer.parseInt(getProperty("http.deadline.ms." + endpoint, String.valueOf(getDeadlineMillis())));
+    }
+    
+    public long getRetryBackoffBaseMillis() {
+        return Long.parseLong(getProperty("retry.backoff.base.ms", "100"));
+    }
+    
+    public long getRetryBackoffMaxMillis() {
+        return Long.parseLong(getProperty("retry.backoff.max.ms", "2000"));
+    }
+    
+    public String getRetryMethods() {
+        return getProperty("retry.methods", "GET,PUT,DELETE");
+    }
+    
+    public String getRetryStatuses() {
+        return getProperty("retry.statuses", "500,502,503,504");
+    }
+    
+    public double getRetryBudgetRatio() {
+        return Double.parseDouble(getProperty("retry.budget.ratio", "0.2"));
+    }
+    
+    public int getRetryBudgetBurst() {
+        return Integer.parseInt(getProperty("retry.budget.burst", "10"));
+    }
+    
+    public int getRetryBudgetMinPerSecond() {
+        return Integer.parseInt(getProperty("retry.budget.min.per.second", "1"));
+    }
+    
+    public int getPoolMaxTotal() {
+        return Integer.parseInt(getProperty("http.pool.max.total", "20"));
+    }
+    
+    public int getPoolMaxPerRoute() {
+        return Integer.parseInt(getProperty("http.pool.max.per.route", "10"));
+    }
+    
+    public int getPoolIdleTimeout() {
+        return Integer.parseInt(getProperty("http.pool.idle.timeout", "30"));
+    }
+    
+    public int getPoolKeepAlive() {
+        return Integer.parseInt(getProperty("http.pool.keep.alive", "60"));
+    }
+    
+    public int getScenarioThreadCount() {
+        return Integer.parseInt(getProperty("scenario.thread.count", "3"));
+    }
+    
+    public int getVirtualThreadMaxConcurrency() {
+        return Integer.parseInt(getProperty("virtual.thread.max.concurrency", "256"));
+    }
+    
+    public int getAsyncMaxInFlight() {
+        return Integer.parseInt(getProperty("async.max.in.flight", "64"));
+    }
+    
+    public int getBatchProvisionParallelism() {
+        return Integer.parseInt(getProperty("batch.provision.parallelism", "16"));
+    }
+    
+    public boolean isHttpCacheEnabled() {
+        return Boolean.parseBoolean(getProperty("http.cache.enabled", "false"));
+    }
+    
+    public int getHttpCacheTtl() {
+        return Integer.parseInt(getProperty("http.cache.ttl", "30"));
+    }
+    
+    public int getHttpCacheMaxEntries() {
+        return Integer.parseInt(getProperty("http.cache.max.entries", "256"));
+    }
+    
+    /**
+     * Cached paths that depend on another resource, e.g. "/pet:/store/inventory" (see ResponseCache)
+     */
+    public String getHttpCacheDependencies() {
+        return getProperty("http.cache.dependencies",
+                "/pet:/pet/findByStatus,/pet:/store/inventory,/store:/store/inventory");
+    }
+    
+    /**
+     * HTTP_1_1 or HTTP_2; with HTTP_2 requests go through the JDK client, which negotiates it and
+     * falls back to HTTP/1.1 when the server does not support it
+     */
+    public String getHttpVersion() {
+        return getProperty("http.version", "HTTP_1_1");
+    }
+    
+    public String getHttpCompression() {
+        return getProperty("http.compression", "gzip,deflate,br");
+    }
+    
+    public String getHealthCheckEndpoint() {
+        return getProperty("health.check.endpoint", "/store/inventory");
+    }
+    
+    public int getHealthCheckInterval() {
+        return Integer.parseInt(getProperty("health.check.interval", "0"));
+    }
+    
+    public int getHealthCheckCooldown() {
+        return Integer.parseInt(getProperty("health.check.cooldown", "30"));
+    }
+    
+    public boolean isJsonBlackbirdEnabled() {
+        return Boolean.parseBoolean(getProperty("json.blackbird.enabled", "true"));
+    }
+    
+    public boolean isJsonFailOnUnknownProperties() {
+        return Boolean.parseBoolean(getProperty("json.fail.on.unknown.properties", "false"));
+    }
+    
+    public boolean isJsonIncludeNulls() {
+        return Boolean.parseBoolean(getProperty("json.include.nulls", "true"));
+    }
+    
+    public boolean isScenarioPipelining() {
+        return Boolean.parseBoolean(getProperty("scenario.pipelining", "false"));
+    }
+    
+    public String getTestDataPath() {
+        return getProperty("test.data.path", "src/test/resources/testdata");
+    }
+    
+    public String getFixturesCachePath() {
+        return getProperty("fixtures.cache.path", "target/fixtures");
+    }
+    
+    public int getDataPoolSize() {
+        return Integer.parseInt(getProperty("data.pool.size", "1000"));
+    }
+    
+    public boolean isCleanupEnabled() {
+        return Boolean.parseBoolean(getProperty("cleanup.enabled", "true"));
+    }
+    
+    public int getCleanupParallelism() {
+        return Integer.parseInt(getProperty("cleanup.parallelism", "8"));
+    }
+    
+    public int getLogBodyMaxChars() {
+        return Integer.parseInt(getProperty("log.body.max.chars", "500"));
+    }
+    
+    public boolean isLogPassedScenarios() {
+        return Boolean.parseBoolean(getProperty("log.passed.scenarios", "false"));
+    }
+    
+    public String getReportsPath() {
+        return getProperty("reports.path", "target/cucumber-reports");
     }
     
+    /**
+     * Get a property value; a JVM system property with the same key (-Dkey=value) takes precedence
+     */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
     }
     
     public String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return System.getProperty(key, properties.getProperty(key, defaultValue));
     }
 }
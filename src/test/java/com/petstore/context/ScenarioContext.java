@@ -0,0 +1,34 @@
+package com.petstore.context;
+
+import com.petstore.cleanup.CreatedResources;
+import com.petstore.config.TestConfig;
+import com.petstore.logging.ScenarioLog;
+
+/**
+ * State shared by the hooks and step definitions of one scenario.
+ * PicoContainer creates one instance per scenario and injects it into every glue class
+ * that takes it as a constructor argument.
+ */
+public class ScenarioContext {
+    private final ScenarioLog log = new ScenarioLog();
+    private final CreatedResources createdResources = new CreatedResources();
+    private final StepPipeline pipeline = new StepPipeline(TestConfig.getInstance().isScenarioPipelining());
+
+    public ScenarioLog getLog() {
+        return log;
+    }
+
+    /**
+     * Pets and orders created by this scenario, deleted after it finishes
+     */
+    public CreatedResources getCreatedResources() {
+        return createdResources;
+    }
+
+    /**
+     * Requests dispatched by Background and Given steps that are still running
+     */
+    public StepPipeline getPipeline() {
+        return pipeline;
+    }
+}
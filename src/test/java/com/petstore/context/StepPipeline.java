@@ -0,0 +1,92 @@
+package com.petstore.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Requests a scenario's Background and Given steps have dispatched without waiting for them.
+ * With scenario.pipelining enabled those steps only start their requests, which then run concurrently
+ * (multiplexed over one connection with http.version=HTTP_2 when the server supports it); the first step that
+ * depends on them calls {@link #awaitAll()}, so the scenario waits for the slowest request instead
+ * of the sum of all of them.
+ * Used from the scenario thread only.
+ */
+public class StepPipeline {
+    private static final Executor BLOCKING_STEPS = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final boolean enabled;
+    private final List<CompletableFuture<?>> pending = new ArrayList<>();
+
+    public StepPipeline(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Track an already started request
+     */
+    public <T> CompletableFuture<T> dispatch(CompletableFuture<T> request) {
+        pending.add(request);
+        return request;
+    }
+
+    /**
+     * Run a blocking step action, such as the health check, on a virtual thread
+     */
+    public CompletableFuture<Void> dispatch(Runnable action) {
+        return dispatch(CompletableFuture.runAsync(action, BLOCKING_STEPS));
+    }
+
+    public boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Wait for every dispatched request, in dispatch order, and rethrow the first failure as it
+     * would have been thrown by the step itself
+     */
+    public void awaitAll() {
+        Throwable failure = awaitAllQuietly();
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new CompletionException(failure);
+        }
+    }
+
+    /**
+     * Wait for every dispatched request and return the first failure, or null if all succeeded
+     */
+    public Throwable awaitAllQuietly() {
+        Throwable failure = null;
+        for (CompletableFuture<?> request : pending) {
+            try {
+                request.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) {
+                    failure = e;
+                }
+                break;
+            }
+        }
+        pending.clear();
+        return failure;
+    }
+}
@@ -1,5 +1,6 @@
 package com.petstore.debug;
 
+import com.petstore.config.TestConfig;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
@@ -14,12 +15,12 @@ public class ApiConnectivityTest {
         try {
             System.out.println("Testing API connectivity...");
             
-            // Set up RestAssured
-            RestAssured.baseURI = "https://petstore.swagger.io";
-            RestAssured.basePath = "/v2";
+            TestConfig config = TestConfig.getInstance();
             
-            // Make a simple request
+            // Make a simple request without touching global RestAssured state
             Response response = RestAssured.given()
+                    .baseUri(config.getBaseUrl())
+                    .basePath("/" + config.getApiVersion())
                     .when()
                     .get("/pet/findByStatus?status=available")
                     .then()
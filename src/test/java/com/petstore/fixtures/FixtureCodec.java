@@ -0,0 +1,33 @@
+package com.petstore.fixtures;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Converts one kind of fixture record between its model class, CSV rows and the binary record format
+ */
+public interface FixtureCodec<T> {
+
+    /**
+     * Identifies the record type in the header of compiled fixture files
+     */
+    int typeId();
+
+    /**
+     * Version of this codec's binary encoding, stored in compiled files; increase it whenever write and read
+     * change, so files compiled by the previous encoding are recompiled instead of misread
+     */
+    int version();
+
+    Class<T> modelType();
+
+    /**
+     * Build a record from a CSV row keyed by the header column names; missing columns are null
+     */
+    T fromCsv(Map<String, String> row);
+
+    void write(T record, DataOutputStream out) throws IOException;
+
+    T read(RecordReader in);
+}
@@ -0,0 +1,166 @@
+package com.petstore.fixtures;
+
+import com.petstore.models.Category;
+import com.petstore.models.Order;
+import com.petstore.models.Pet;
+import com.petstore.models.Tag;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Codecs for the Petstore models.
+ * CSV columns for pets: id, name, status, categoryId, category, tags and photoUrls, the last two
+ * separated by ';'. CSV columns for orders: id, petId, quantity, shipDate, status and complete.
+ */
+public final class FixtureCodecs {
+
+    private FixtureCodecs() {
+    }
+
+    public static final FixtureCodec<Pet> PETS = new FixtureCodec<Pet>() {
+        @Override
+        public int typeId() {
+            return 1;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<Pet> modelType() {
+            return Pet.class;
+        }
+
+        @Override
+        public Pet fromCsv(Map<String, String> row) {
+            Pet pet = new Pet();
+            pet.setId(parseLong(row.get("id")));
+            pet.setName(row.get("name"));
+            pet.setStatus(row.get("status"));
+            if (row.get("category") != null) {
+                pet.setCategory(new Category(parseLong(row.get("categoryId")), row.get("category")));
+            }
+            List<String> tagNames = parseList(row.get("tags"));
+            if (tagNames != null) {
+                List<Tag> tags = new ArrayList<>(tagNames.size());
+                for (String tagName : tagNames) {
+                    tags.add(new Tag((long) tags.size() + 1, tagName));
+                }
+                pet.setTags(tags);
+            }
+            pet.setPhotoUrls(parseList(row.get("photoUrls")));
+            return pet;
+        }
+
+        @Override
+        public void write(Pet pet, DataOutputStream out) throws IOException {
+            RecordReader.writeLong(out, pet.getId());
+            RecordReader.writeString(out, pet.getName());
+            RecordReader.writeString(out, pet.getStatus());
+            Category category = pet.getCategory();
+            RecordReader.writeBoolean(out, category != null);
+            if (category != null) {
+                RecordReader.writeLong(out, category.getId());
+                RecordReader.writeString(out, category.getName());
+            }
+            RecordReader.writeCount(out, pet.getPhotoUrls());
+            if (pet.getPhotoUrls() != null) {
+                for (String photoUrl : pet.getPhotoUrls()) {
+                    RecordReader.writeString(out, photoUrl);
+                }
+            }
+            RecordReader.writeCount(out, pet.getTags());
+            if (pet.getTags() != null) {
+                for (Tag tag : pet.getTags()) {
+                    RecordReader.writeLong(out, tag.getId());
+                    RecordReader.writeString(out, tag.getName());
+                }
+            }
+        }
+
+        @Override
+        public Pet read(RecordReader in) {
+            Pet pet = new Pet();
+            pet.setId(in.readLong());
+            pet.setName(in.readString());
+            pet.setStatus(in.readString());
+            if (in.readBoolean()) {
+                pet.setCategory(new Category(in.readLong(), in.readString()));
+            }
+            int photoCount = in.readCount();
+            if (photoCount >= 0) {
+                List<String> photoUrls = new ArrayList<>(photoCount);
+                for (int i = 0; i < photoCount; i++) {
+                    photoUrls.add(in.readString());
+                }
+                pet.setPhotoUrls(photoUrls);
+            }
+            int tagCount = in.readCount();
+            if (tagCount >= 0) {
+                List<Tag> tags = new ArrayList<>(tagCount);
+                for (int i = 0; i < tagCount; i++) {
+                    tags.add(new Tag(in.readLong(), in.readString()));
+                }
+                pet.setTags(tags);
+            }
+            return pet;
+        }
+    };
+
+    public static final FixtureCodec<Order> ORDERS = new FixtureCodec<Order>() {
+        @Override
+        public int typeId() {
+            return 2;
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public Class<Order> modelType() {
+            return Order.class;
+        }
+
+        @Override
+        public Order fromCsv(Map<String, String> row) {
+            String quantity = row.get("quantity");
+            String complete = row.get("complete");
+            return new Order(parseLong(row.get("id")), parseLong(row.get("petId")),
+                    quantity == null ? null : Integer.valueOf(quantity), row.get("shipDate"), row.get("status"),
+                    complete == null ? null : Boolean.valueOf(complete));
+        }
+
+        @Override
+        public void write(Order order, DataOutputStream out) throws IOException {
+            RecordReader.writeLong(out, order.getId());
+            RecordReader.writeLong(out, order.getPetId());
+            RecordReader.writeInt(out, order.getQuantity());
+            RecordReader.writeString(out, order.getShipDate());
+            RecordReader.writeString(out, order.getStatus());
+            RecordReader.writeBoolean(out, order.getComplete());
+        }
+
+        @Override
+        public Order read(RecordReader in) {
+            return new Order(in.readLong(), in.readLong(), in.readInt(), in.readString(), in.readString(),
+                    in.readBoolean());
+        }
+    };
+
+    private static Long parseLong(String value) {
+        return value == null ? null : Long.valueOf(value);
+    }
+
+    private static List<String> parseList(String value) {
+        return value == null ? null : new ArrayList<>(Arrays.asList(value.split(";")));
+    }
+}
@@ -0,0 +1,204 @@
+package com.petstore.fixtures;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.petstore.utils.ObjectMapperProvider;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Compiles a JSON array or CSV fixture file into the binary format read by {@link FixtureStore}:
+ * <pre>
+ *   header:  magic, format version, record type, codec version, record count, data length   (6 x int)
+ *            source size, source CRC32C   (2 x long)
+ *   index:   offset of every record relative to the data section   (count x int)
+ *   data:    records encoded by the record type's codec
+ * </pre>
+ * The source size and checksum identify the source a file was compiled from, independently of file
+ * timestamps. The source is streamed one record at a time, so compiling needs no more heap than one record
+ * plus the index.
+ */
+public final class FixtureCompiler {
+    static final int MAGIC = 0x50534658; // "PSFX"
+    static final int VERSION = 2;
+    static final int HEADER_BYTES = 6 * Integer.BYTES + 2 * Long.BYTES;
+
+    private FixtureCompiler() {
+    }
+
+    public static <T> void compile(Path source, Path target, FixtureCodec<T> codec) throws IOException {
+        // Checksummed before reading the records: if the source changes meanwhile, the next open recompiles
+        long sourceSize = Files.size(source);
+        long sourceChecksum = checksum(source);
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path records = Files.createTempFile(directory, target.getFileName().toString(), ".records");
+        Path compiled = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            int[] offsets = new int[1024];
+            int count = 0;
+            int dataBytes;
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(records), 1 << 16));
+                 RecordSource<T> input = open(source, codec)) {
+                for (T record = input.next(); record != null; record = input.next()) {
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    offsets[count++] = out.size();
+                    codec.write(record, out);
+                    // DataOutputStream counts in an int; a negative size means the data no longer fits one mapping
+                    if (out.size() < 0) {
+                        throw new IOException("Fixture file too large for a single mapping: " + source);
+                    }
+                }
+                out.flush();
+                dataBytes = out.size();
+            }
+            if ((long) HEADER_BYTES + (long) count * Integer.BYTES + dataBytes > Integer.MAX_VALUE) {
+                throw new IOException("Fixture file too large for a single mapping: " + source);
+            }
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(compiled), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(codec.typeId());
+                out.writeInt(codec.version());
+                out.writeInt(count);
+                out.writeInt(dataBytes);
+                out.writeLong(sourceSize);
+                out.writeLong(sourceChecksum);
+                for (int i = 0; i < count; i++) {
+                    out.writeInt(offsets[i]);
+                }
+                Files.copy(records, out);
+            }
+            // Another JVM may compile the same fixtures concurrently; readers only ever see a complete file
+            Files.move(compiled, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(records);
+            Files.deleteIfExists(compiled);
+        }
+    }
+
+    /**
+     * CRC32C of a file's content, as stored in the header of files compiled from it
+     */
+    static long checksum(Path file) throws IOException {
+        CRC32C crc = new CRC32C();
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static <T> RecordSource<T> open(Path source, FixtureCodec<T> codec) throws IOException {
+        String fileName = source.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(".json")) {
+            return new JsonRecordSource<>(source, codec.modelType());
+        }
+        if (fileName.endsWith(".csv")) {
+            return new CsvRecordSource<>(source, codec);
+        }
+        throw new IllegalArgumentException("Unsupported fixture format (expected .json or .csv): " + source);
+    }
+
+    /**
+     * Records read one at a time from a fixture source; next() returns null at the end
+     */
+    private interface RecordSource<T> extends AutoCloseable {
+        T next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * Elements of a top-level JSON array, bound one by one with the shared object mapper
+     */
+    private static final class JsonRecordSource<T> implements RecordSource<T> {
+        private final JsonParser parser;
+        private final ObjectReader reader;
+
+        JsonRecordSource(Path source, Class<T> type) throws IOException {
+            this.parser = ObjectMapperProvider.getInstance().getMapper().createParser(source.toFile());
+            this.reader = ObjectMapperProvider.getInstance().readerFor(type);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new IOException("Fixture file must contain a JSON array: " + source);
+            }
+        }
+
+        @Override
+        public T next() throws IOException {
+            return parser.nextToken() == JsonToken.START_OBJECT ? reader.readValue(parser) : null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    /**
+     * Rows of a CSV file with a header line; values must not contain commas
+     */
+    private static final class CsvRecordSource<T> implements RecordSource<T> {
+        private final BufferedReader reader;
+        private final FixtureCodec<T> codec;
+        private final String[] columns;
+
+        CsvRecordSource(Path source, FixtureCodec<T> codec) throws IOException {
+            this.reader = Files.newBufferedReader(source, StandardCharsets.UTF_8);
+            this.codec = codec;
+            String header = reader.readLine();
+            if (header == null) {
+                reader.close();
+                throw new IOException("Fixture file has no header line: " + source);
+            }
+            this.columns = header.trim().split("\\s*,\\s*");
+        }
+
+        @Override
+        public T next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            String[] values = line.split(",", -1);
+            Map<String, String> row = new HashMap<>();
+            for (int i = 0; i < columns.length && i < values.length; i++) {
+                String value = values[i].trim();
+                if (!value.isEmpty()) {
+                    row.put(columns[i], value);
+                }
+            }
+            return codec.fromCsv(row);
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.petstore.fixtures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view of a compiled fixture file (see {@link FixtureCompiler}) through a memory mapping.
+ * Records stay in the page cache and are decoded into model objects only when requested, so opening
+ * a store is fast and heap use does not grow with the number of fixtures. Safe for concurrent readers.
+ */
+public class FixtureStore<T> {
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final FixtureCodec<T> codec;
+    private final int count;
+    private final int dataStart;
+    private final long sourceSize;
+    private final long sourceChecksum;
+
+    /**
+     * Validates the header and the index, so a truncated or corrupted file fails here with an IOException
+     * instead of later in get()
+     */
+    private FixtureStore(Path file, ByteBuffer buffer, FixtureCodec<T> codec) throws IOException {
+        if (buffer.capacity() < FixtureCompiler.HEADER_BYTES
+                || buffer.getInt(0) != FixtureCompiler.MAGIC
+                || buffer.getInt(4) != FixtureCompiler.VERSION
+                || buffer.getInt(8) != codec.typeId()
+                || buffer.getInt(12) != codec.version()) {
+            throw new IOException("Not a compiled " + codec.modelType().getSimpleName() + " fixture file "
+                    + "of the current format: " + file);
+        }
+        int count = buffer.getInt(16);
+        int dataBytes = buffer.getInt(20);
+        long expectedBytes = FixtureCompiler.HEADER_BYTES + (long) count * Integer.BYTES + dataBytes;
+        if (count < 0 || dataBytes < 0 || expectedBytes != buffer.capacity()) {
+            throw new IOException("Truncated or corrupted fixture file (" + buffer.capacity() + " bytes, header says "
+                    + expectedBytes + "): " + file);
+        }
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            int offset = buffer.getInt(FixtureCompiler.HEADER_BYTES + i * Integer.BYTES);
+            if (offset < previous || offset >= dataBytes) {
+                throw new IOException("Corrupted index entry " + i + " (offset " + offset + ") in fixture file: "
+                        + file);
+            }
+            previous = offset;
+        }
+        this.file = file;
+        this.buffer = buffer;
+        this.codec = codec;
+        this.count = count;
+        this.dataStart = FixtureCompiler.HEADER_BYTES + count * Integer.BYTES;
+        this.sourceSize = buffer.getLong(24);
+        this.sourceChecksum = buffer.getLong(32);
+    }
+
+    /**
+     * Open the compiled form of a JSON or CSV fixture file, compiling it into the cache directory first
+     * when there is no usable compiled file yet or it was compiled from different source content.
+     * The source is identified by its size and checksum rather than its timestamp, which restored caches
+     * and copies that preserve timestamps make unreliable.
+     */
+    public static <T> FixtureStore<T> open(Path source, Path cacheDirectory, FixtureCodec<T> codec)
+            throws IOException {
+        Path compiled = cacheDirectory.resolve(source.getFileName() + ".bin");
+        if (Files.isRegularFile(compiled)) {
+            try {
+                FixtureStore<T> store = map(compiled, codec);
+                if (store.isCompiledFrom(source)) {
+                    return store;
+                }
+            } catch (IOException e) {
+                // Written by another format or codec version, or corrupted; compile it again below
+            }
+        }
+        FixtureCompiler.compile(source, compiled, codec);
+        return map(compiled, codec);
+    }
+
+    /**
+     * Map an already compiled fixture file
+     */
+    public static <T> FixtureStore<T> map(Path compiled, FixtureCodec<T> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Fixture file too large for a single mapping: " + compiled);
+            }
+            // The mapping stays valid after the channel is closed
+            return new FixtureStore<>(compiled, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), codec);
+        }
+    }
+
+    /**
+     * Whether this file was compiled from the current content of the given source
+     */
+    public boolean isCompiledFrom(Path source) throws IOException {
+        return Files.size(source) == sourceSize && FixtureCompiler.checksum(source) == sourceChecksum;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Decode the record at the given index into a new model object
+     */
+    public T get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Fixture index " + index + " out of range for " + count + " records");
+        }
+        int offset = buffer.getInt(FixtureCompiler.HEADER_BYTES + index * Integer.BYTES);
+        return codec.read(new RecordReader(buffer, dataStart + offset));
+    }
+
+    @Override
+    public String toString() {
+        return count + " " + codec.modelType().getSimpleName() + " fixtures from " + file;
+    }
+}
@@ -0,0 +1,168 @@
+package com.petstore.fixtures;
+
+import com.petstore.models.Order;
+import com.petstore.models.Pet;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Compiling JSON and CSV fixtures, mapping the compiled files and reading records back
+ */
+public class FixtureStoreTest {
+    private static final String PETS_JSON = "["
+            + "{\"id\":1,\"name\":\"Rex\",\"status\":\"available\",\"category\":{\"id\":7,\"name\":\"Dogs\"},"
+            + "\"photoUrls\":[\"http://example.com/rex.jpg\"],\"tags\":[{\"id\":1,\"name\":\"friendly\"}]},"
+            + "{\"id\":2,\"name\":\"Tom\",\"status\":\"sold\",\"photoUrls\":[]}"
+            + "]";
+    private static final String PETS_CSV = "id,name,status,categoryId,category,tags,photoUrls\n"
+            + "1,Rex,available,7,Dogs,friendly;large,http://example.com/a.jpg;http://example.com/b.jpg\n"
+            + "\n"
+            + "2,Tom,sold,,,,\n";
+    private static final String ORDERS_CSV = "id,petId,quantity,shipDate,status,complete\n"
+            + "10,1,3,2024-01-01T00:00:00.000Z,placed,false\n"
+            + ",2,,,,\n";
+
+    private Path directory;
+    private Path cache;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("fixture-store-test");
+        cache = directory.resolve("cache");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private Path write(String fileName, String content) throws IOException {
+        return Files.writeString(directory.resolve(fileName), content);
+    }
+
+    @Test
+    public void jsonPetsRoundTrip() throws IOException {
+        FixtureStore<Pet> store = FixtureStore.open(write("pets.json", PETS_JSON), cache, FixtureCodecs.PETS);
+        Assert.assertEquals(store.size(), 2);
+
+        Pet rex = store.get(0);
+        Assert.assertEquals(rex.getId(), Long.valueOf(1));
+        Assert.assertEquals(rex.getName(), "Rex");
+        Assert.assertEquals(rex.getStatus(), "available");
+        Assert.assertEquals(rex.getCategory().getId(), Long.valueOf(7));
+        Assert.assertEquals(rex.getCategory().getName(), "Dogs");
+        Assert.assertEquals(rex.getPhotoUrls(), List.of("http://example.com/rex.jpg"));
+        Assert.assertEquals(rex.getTags().size(), 1);
+        Assert.assertEquals(rex.getTags().get(0).getName(), "friendly");
+
+        Pet tom = store.get(1);
+        Assert.assertEquals(tom.getName(), "Tom");
+        Assert.assertNull(tom.getCategory());
+        Assert.assertEquals(tom.getPhotoUrls(), List.of());
+        Assert.assertNull(tom.getTags(), "A missing list stays null rather than becoming empty");
+    }
+
+    @Test
+    public void csvPetsRoundTrip() throws IOException {
+        FixtureStore<Pet> store = FixtureStore.open(write("pets.csv", PETS_CSV), cache, FixtureCodecs.PETS);
+        Assert.assertEquals(store.size(), 2, "Blank lines are skipped");
+
+        Pet rex = store.get(0);
+        Assert.assertEquals(rex.getCategory().getName(), "Dogs");
+        Assert.assertEquals(rex.getPhotoUrls(), List.of("http://example.com/a.jpg", "http://example.com/b.jpg"));
+        Assert.assertEquals(rex.getTags().get(1).getName(), "large");
+
+        Pet tom = store.get(1);
+        Assert.assertEquals(tom.getStatus(), "sold");
+        Assert.assertNull(tom.getCategory());
+        Assert.assertNull(tom.getPhotoUrls());
+    }
+
+    @Test
+    public void csvOrdersRoundTrip() throws IOException {
+        FixtureStore<Order> store = FixtureStore.open(write("orders.csv", ORDERS_CSV), cache, FixtureCodecs.ORDERS);
+        Assert.assertEquals(store.size(), 2);
+
+        Order placed = store.get(0);
+        Assert.assertEquals(placed.getId(), Long.valueOf(10));
+        Assert.assertEquals(placed.getPetId(), Long.valueOf(1));
+        Assert.assertEquals(placed.getQuantity(), Integer.valueOf(3));
+        Assert.assertEquals(placed.getShipDate(), "2024-01-01T00:00:00.000Z");
+        Assert.assertEquals(placed.getStatus(), "placed");
+        Assert.assertEquals(placed.getComplete(), Boolean.FALSE);
+
+        Order sparse = store.get(1);
+        Assert.assertNull(sparse.getId());
+        Assert.assertNull(sparse.getQuantity());
+        Assert.assertNull(sparse.getComplete());
+    }
+
+    @Test
+    public void indexOutOfRangeIsRejected() throws IOException {
+        FixtureStore<Pet> store = FixtureStore.open(write("pets.json", PETS_JSON), cache, FixtureCodecs.PETS);
+        Assert.expectThrows(IndexOutOfBoundsException.class, () -> store.get(2));
+        Assert.expectThrows(IndexOutOfBoundsException.class, () -> store.get(-1));
+    }
+
+    @Test
+    public void changedSourceWithOlderTimestampIsRecompiled() throws IOException {
+        Path source = write("pets.json", PETS_JSON);
+        FixtureStore.open(source, cache, FixtureCodecs.PETS);
+
+        // A restored or copied source can carry a timestamp older than the compiled file
+        Files.writeString(source, PETS_JSON.replace("Rex", "Max"));
+        Files.setLastModifiedTime(source, FileTime.fromMillis(0));
+
+        FixtureStore<Pet> store = FixtureStore.open(source, cache, FixtureCodecs.PETS);
+        Assert.assertEquals(store.get(0).getName(), "Max");
+        Assert.assertTrue(store.isCompiledFrom(source));
+    }
+
+    @Test
+    public void unchangedSourceIsNotRecompiled() throws IOException {
+        Path source = write("pets.json", PETS_JSON);
+        FixtureStore.open(source, cache, FixtureCodecs.PETS);
+        Path compiled = cache.resolve("pets.json.bin");
+        FileTime compiledAt = FileTime.fromMillis(1_000_000L);
+        Files.setLastModifiedTime(compiled, compiledAt);
+        Files.setLastModifiedTime(source, FileTime.fromMillis(System.currentTimeMillis()));
+
+        FixtureStore.open(source, cache, FixtureCodecs.PETS);
+        Assert.assertEquals(Files.getLastModifiedTime(compiled), compiledAt, "A newer timestamp alone is no change");
+    }
+
+    @Test
+    public void truncatedCompiledFileFailsToMapAndIsRecompiled() throws IOException {
+        Path source = write("pets.json", PETS_JSON);
+        FixtureStore.open(source, cache, FixtureCodecs.PETS);
+        Path compiled = cache.resolve("pets.json.bin");
+        try (FileChannel channel = FileChannel.open(compiled, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        Assert.expectThrows(IOException.class, () -> FixtureStore.map(compiled, FixtureCodecs.PETS));
+        FixtureStore<Pet> store = FixtureStore.open(source, cache, FixtureCodecs.PETS);
+        Assert.assertEquals(store.get(1).getName(), "Tom");
+    }
+
+    @Test
+    public void fileOfAnotherRecordTypeIsRejected() throws IOException {
+        FixtureStore.open(write("pets.json", PETS_JSON), cache, FixtureCodecs.PETS);
+        Assert.expectThrows(IOException.class, () -> FixtureStore.map(cache.resolve("pets.json.bin"),
+                FixtureCodecs.ORDERS));
+    }
+}
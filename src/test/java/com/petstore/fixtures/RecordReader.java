@@ -0,0 +1,91 @@
+package com.petstore.fixtures;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Reads the fields of one record from a compiled fixture file. Only absolute reads are used, so
+ * any number of readers can share the same mapped buffer across threads.
+ * The static write methods produce the encoding the read methods expect.
+ */
+public final class RecordReader {
+    static final long NULL_LONG = Long.MIN_VALUE;
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    private final ByteBuffer buffer;
+    private int position;
+
+    RecordReader(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    public Long readLong() {
+        long value = buffer.getLong(position);
+        position += Long.BYTES;
+        return value == NULL_LONG ? null : value;
+    }
+
+    public Integer readInt() {
+        int value = readRawInt();
+        return value == NULL_INT ? null : value;
+    }
+
+    public Boolean readBoolean() {
+        byte value = buffer.get(position++);
+        return value < 0 ? null : value == 1;
+    }
+
+    public String readString() {
+        int length = readRawInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position, bytes);
+        position += length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Element count written by {@link #writeCount}, or -1 for a null collection
+     */
+    public int readCount() {
+        return readRawInt();
+    }
+
+    private int readRawInt() {
+        int value = buffer.getInt(position);
+        position += Integer.BYTES;
+        return value;
+    }
+
+    public static void writeLong(DataOutputStream out, Long value) throws IOException {
+        out.writeLong(value == null ? NULL_LONG : value);
+    }
+
+    public static void writeInt(DataOutputStream out, Integer value) throws IOException {
+        out.writeInt(value == null ? NULL_INT : value);
+    }
+
+    public static void writeBoolean(DataOutputStream out, Boolean value) throws IOException {
+        out.writeByte(value == null ? -1 : value ? 1 : 0);
+    }
+
+    public static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static void writeCount(DataOutputStream out, Collection<?> values) throws IOException {
+        out.writeInt(values == null ? -1 : values.size());
+    }
+}
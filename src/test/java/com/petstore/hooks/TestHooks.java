@@ -1,40 +1,133 @@
 package com.petstore.hooks;
 
+import com.petstore.cleanup.CleanupStats;
+import com.petstore.cleanup.CreatedResources;
+import com.petstore.cleanup.ResourceCleaner;
 import com.petstore.config.TestConfig;
+import com.petstore.context.ScenarioContext;
+import com.petstore.context.StepPipeline;
+import com.petstore.http.ResponseCacheStats;
+import com.petstore.logging.AsyncLogWriter;
+import com.petstore.logging.ScenarioLog;
+import com.petstore.metrics.LatencyReport;
 import com.petstore.utils.ApiClient;
+import com.petstore.utils.HealthCheckGate;
+import com.petstore.utils.TestDataPool;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
+import io.cucumber.java.BeforeAll;
 import io.cucumber.java.Scenario;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Cucumber hooks for setup and teardown operations
  */
 public class TestHooks {
     
+    private final ScenarioLog log;
+    private final CreatedResources createdResources;
+    private final StepPipeline pipeline;
     private TestConfig config;
     private ApiClient apiClient;
     
+    public TestHooks(ScenarioContext context) {
+        this.log = context.getLog();
+        this.createdResources = context.getCreatedResources();
+        this.pipeline = context.getPipeline();
+    }
+    
+    @BeforeAll
+    public static void prepareTestData() {
+        // Build the data pool before the first scenario instead of inside it
+        AsyncLogWriter.getInstance().write(TestDataPool.getInstance() + System.lineSeparator());
+    }
+    
     @Before
     public void setUp(Scenario scenario) {
-        System.out.println("Starting scenario: " + scenario.getName());
+        log.info("Starting scenario: %s", scenario.getName());
         config = TestConfig.getInstance();
         apiClient = ApiClient.getInstance();
         
         // Log test environment information
-        System.out.println("Base URL: " + config.getBaseUrl());
-        System.out.println("API Version: " + config.getApiVersion());
+        log.info("Base URL: %s", config.getBaseUrl());
+        log.info("API Version: %s", config.getApiVersion());
+        
+        // ApiClient registers everything this scenario creates here
+        createdResources.bindToCurrentThread();
     }
     
     @After
     public void tearDown(Scenario scenario) {
-        if (scenario.isFailed()) {
-            System.out.println("Scenario failed: " + scenario.getName());
-            // Add any cleanup logic for failed scenarios
-        } else {
-            System.out.println("Scenario passed: " + scenario.getName());
+        // Requests pipelined by Given steps no later step waited for must finish before the cleanup
+        Throwable pipelineFailure = pipeline.awaitAllQuietly();
+        if (pipelineFailure != null) {
+            log.info("Pipelined request failed: %s", pipelineFailure);
+        }
+        CreatedResources.unbindCurrentThread();
+        if (config.isCleanupEnabled()) {
+            CleanupStats cleanup = new ResourceCleaner().clean(createdResources);
+            if (cleanup.getTotal() > 0) {
+                log.info("Cleanup: %s", cleanup);
+            }
         }
+        log.info("Finished scenario: %s (%s)", scenario.getName(), scenario.getStatus());
         
-        // Add any general cleanup logic here
-        System.out.println("Finished scenario: " + scenario.getName());
+        // Only failed scenarios are written by default; they also get the log with complete bodies attached
+        if (scenario.isFailed() || pipelineFailure != null) {
+            scenario.attach(log.render(ScenarioLog.FULL_BODIES), "text/plain", "scenario-log");
+            AsyncLogWriter.getInstance().write(log.render(config.getLogBodyMaxChars()));
+        } else if (config.isLogPassedScenarios()) {
+            AsyncLogWriter.getInstance().write(log.render(config.getLogBodyMaxChars()));
+        }
+        if (pipelineFailure != null && !scenario.isFailed()) {
+            throw new AssertionError("Pipelined request failed", pipelineFailure);
+        }
+    }
+    
+    // @AfterAll hooks with a higher order run first: the cleanup, then the reports, then the log flush
+    @AfterAll(order = 30000)
+    public static void cleanUpSuiteResources() {
+        TestConfig config = TestConfig.getInstance();
+        if (config.isCleanupEnabled()) {
+            new ResourceCleaner().clean(CreatedResources.suite());
+            AsyncLogWriter.getInstance().write("Resource cleanup: " + ResourceCleaner.totals()
+                    + System.lineSeparator());
+        }
+    }
+    
+    @AfterAll(order = 20000)
+    public static void reportHttpStats() {
+        // One block, written after any scenario logs still queued
+        String newline = System.lineSeparator();
+        StringBuilder summary = new StringBuilder("HTTP connection pool: ")
+                .append(ApiClient.getInstance().getConnectionPoolStats()).append(newline);
+        ResponseCacheStats cacheStats = ApiClient.getInstance().getResponseCacheStats();
+        if (cacheStats != null) {
+            summary.append("HTTP response cache: ").append(cacheStats).append(newline);
+        }
+        summary.append("HTTP retries: ").append(ApiClient.getInstance().getRetryPolicy()).append(newline)
+                .append("HTTP compression: ").append(ApiClient.getInstance().getCompressionStats()).append(newline)
+                .append("HTTP versions (JDK client): ").append(ApiClient.getInstance().getResponsesByHttpVersion())
+                .append(newline)
+                .append(HealthCheckGate.getInstance()).append(newline);
+        AsyncLogWriter.getInstance().write(summary.toString());
+    }
+    
+    @AfterAll(order = 20000)
+    public static void reportLatencies() {
+        try {
+            LatencyReport.write(Paths.get(TestConfig.getInstance().getReportsPath(), "latency"));
+        } catch (IOException e) {
+            System.err.println("Error writing latency report: " + e.getMessage());
+        }
+    }
+    
+    @AfterAll(order = 0)
+    public static void flushScenarioLogs() {
+        AsyncLogWriter.getInstance().flush(10, TimeUnit.SECONDS);
     }
 }
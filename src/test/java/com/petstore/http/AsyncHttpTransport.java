@@ -0,0 +1,270 @@
+package com.petstore.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Non-blocking HTTP transport built on the JDK HttpClient.
+ * At most maxInFlight requests are outstanding at any time. send() never blocks: requests beyond the cap
+ * are queued and sent, in submission order, as responses to earlier ones arrive, so producers that outrun
+ * the server hold pending futures rather than connections.
+ * With HTTP/2 all requests to a server share one multiplexed connection (h2 over TLS, or an h2c upgrade
+ * on plain HTTP); the client falls back to HTTP/1.1 when the server does not support it.
+ * Responses carry REST Assured's default configuration; models are read from them, as from any response,
+ * with {@link com.petstore.utils.ObjectMapperProvider#read}.
+ */
+public class AsyncHttpTransport {
+    private final HttpClient httpClient;
+    // Runs the client's completions and the queued requests they release
+    private final Executor executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("async-http-", 0).factory());
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+    private final Object slots = new Object();
+    private final Queue<Runnable> queued = new ArrayDeque<>();
+    private int inFlight;
+    private final ObjectWriter bodyWriter;
+    private final ResponseDecoder decoder;
+    private final Map<HttpClient.Version, LongAdder> responsesByVersion = new EnumMap<>(HttpClient.Version.class);
+
+    /**
+     * @param version preferred protocol version
+     * @param bodyWriter serializes request bodies
+     * @param decoder negotiates and decodes compressed response bodies
+     */
+    public AsyncHttpTransport(String baseUrl, Duration timeout, int maxInFlight, HttpClient.Version version,
+                              ObjectWriter bodyWriter, ResponseDecoder decoder) {
+        this.baseUrl = baseUrl;
+        this.bodyWriter = bodyWriter;
+        this.decoder = decoder;
+        this.requestTimeout = timeout;
+        this.maxInFlight = maxInFlight;
+        for (HttpClient.Version each : HttpClient.Version.values()) {
+            responsesByVersion.put(each, new LongAdder());
+        }
+        this.httpClient = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Send a request and complete the returned future with a REST Assured response once the body has arrived
+     *
+     * @param method HTTP method
+     * @param endpoint endpoint relative to the API base path, may contain {name} placeholders
+     * @param pathParams values for the placeholders, may be null
+     * @param body request body serialized as JSON, may be null
+     */
+    public CompletableFuture<Response> send(String method, String endpoint, Map<String, Object> pathParams, Object body) {
+        return send(method, endpoint, pathParams, body, requestTimeout);
+    }
+
+    /**
+     * Send a request that must have received its response within the given timeout
+     */
+    public CompletableFuture<Response> send(String method, String endpoint, Map<String, Object> pathParams,
+                                            Object body, Duration timeout) {
+        return send(method, endpoint, pathParams, body, null, timeout);
+    }
+
+    /**
+     * Send a request with additional headers, e.g. If-None-Match, that must have received its response
+     * within the given timeout
+     *
+     * @param headers extra request headers, may be null
+     */
+    public CompletableFuture<Response> send(String method, String endpoint, Map<String, Object> pathParams,
+                                            Object body, Map<String, String> headers, Duration timeout) {
+        HttpRequest request;
+        try {
+            request = buildRequest(method, expandPathParams(endpoint, pathParams), body, headers, timeout);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        Runnable start = () -> {
+            CompletableFuture<Response> sent;
+            try {
+                sent = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                        .thenApply(this::toResponse);
+            } catch (RuntimeException e) {
+                sent = CompletableFuture.failedFuture(e);
+            }
+            sent.whenComplete((response, error) -> {
+                releaseSlot();
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(response);
+                }
+            });
+        };
+        boolean startNow;
+        synchronized (slots) {
+            startNow = inFlight < maxInFlight;
+            if (startNow) {
+                inFlight++;
+            } else {
+                queued.add(start);
+            }
+        }
+        if (startNow) {
+            start.run();
+        }
+        return result;
+    }
+
+    /**
+     * Hand a finished request's slot to the oldest queued request, or free it.
+     * The queued request is started on the executor: run inline, a request that fails synchronously would
+     * release its slot and start the next one from within this call, nesting one frame deep per queued request.
+     */
+    private void releaseSlot() {
+        Runnable next;
+        synchronized (slots) {
+            next = queued.poll();
+            if (next == null) {
+                inFlight--;
+            }
+        }
+        if (next != null) {
+            executor.execute(next);
+        }
+    }
+
+    /**
+     * Number of requests currently waiting for a response
+     */
+    public int getInFlight() {
+        synchronized (slots) {
+            return inFlight;
+        }
+    }
+
+    /**
+     * Number of requests waiting for a free slot before they are sent
+     */
+    public int getQueued() {
+        synchronized (slots) {
+            return queued.size();
+        }
+    }
+
+    /**
+     * Responses received per negotiated protocol version
+     */
+    public Map<HttpClient.Version, Long> getResponsesByVersion() {
+        Map<HttpClient.Version, Long> counts = new EnumMap<>(HttpClient.Version.class);
+        responsesByVersion.forEach((version, count) -> counts.put(version, count.sum()));
+        return counts;
+    }
+
+    private HttpRequest buildRequest(String method, String path, Object body, Map<String, String> headers,
+                                     Duration timeout) throws JsonProcessingException {
+        HttpRequest.BodyPublisher publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(bodyWriter.writeValueAsBytes(body));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .method(method, publisher);
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (decoder.getAcceptEncoding() != null) {
+            builder.header("Accept-Encoding", decoder.getAcceptEncoding());
+        }
+        if (headers != null) {
+            headers.forEach(builder::header);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Substitute path parameters, encoding each value as a path segment:
+     * a space becomes %20 rather than the form encoding's +, and "/", "?" and "#" are escaped
+     */
+    static String expandPathParams(String endpoint, Map<String, Object> pathParams) {
+        if (pathParams == null || pathParams.isEmpty()) {
+            return endpoint;
+        }
+        String path = endpoint;
+        for (Map.Entry<String, Object> entry : pathParams.entrySet()) {
+            path = path.replace("{" + entry.getKey() + "}", encodePathSegment(String.valueOf(entry.getValue())));
+        }
+        return path;
+    }
+
+    /**
+     * Percent-encode everything but the characters RFC 3986 allows in a path segment:
+     * unreserved characters, sub-delims, ":" and "@"
+     */
+    static String encodePathSegment(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        StringBuilder encoded = new StringBuilder(bytes.length);
+        for (byte b : bytes) {
+            char c = (char) (b & 0xFF);
+            if (isPathSegmentChar(c)) {
+                encoded.append(c);
+            } else {
+                encoded.append('%')
+                        .append(Character.toUpperCase(Character.forDigit(c >> 4, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static boolean isPathSegmentChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || "-._~!$&'()*+,;=:@".indexOf(c) >= 0;
+    }
+
+    private Response toResponse(HttpResponse<byte[]> httpResponse) {
+        responsesByVersion.get(httpResponse.version()).increment();
+        byte[] body;
+        try {
+            body = decoder.decode(httpResponse.headers().firstValue("Content-Encoding").orElse(null),
+                    httpResponse.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not decode response body of " + httpResponse.uri(), e);
+        }
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) ->
+                values.forEach(value -> headers.add(new Header(name, value))));
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(httpResponse.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(body);
+        httpResponse.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        return builder.build();
+    }
+}
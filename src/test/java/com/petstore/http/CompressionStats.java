@@ -0,0 +1,105 @@
+package com.petstore.http;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of response sizes and latencies per content encoding
+ */
+public class CompressionStats {
+    private final String acceptEncoding;
+    private final Map<String, Encoding> encodings;
+
+    public CompressionStats(String acceptEncoding, Map<String, Encoding> encodings) {
+        this.acceptEncoding = acceptEncoding;
+        this.encodings = Collections.unmodifiableMap(encodings);
+    }
+
+    /**
+     * The Accept-Encoding header sent, or null when compression is disabled
+     */
+    public String getAcceptEncoding() {
+        return acceptEncoding;
+    }
+
+    /**
+     * Counters keyed by content encoding; uncompressed responses are listed as "identity"
+     */
+    public Map<String, Encoding> getEncodings() {
+        return encodings;
+    }
+
+    /**
+     * Bytes not transferred thanks to compression
+     */
+    public long getSavedBytes() {
+        long saved = 0;
+        for (Encoding encoding : encodings.values()) {
+            saved += encoding.getDecodedBytes() - encoding.getEncodedBytes();
+        }
+        return saved;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStats{acceptEncoding=" + acceptEncoding + ", savedBytes=" + getSavedBytes()
+                + ", encodings=" + encodings + "}";
+    }
+
+    /**
+     * Counters of the responses received with one content encoding
+     */
+    public static class Encoding {
+        private final long responses;
+        private final long encodedBytes;
+        private final long decodedBytes;
+        private final long latencies;
+        private final long latencyNanos;
+
+        public Encoding(long responses, long encodedBytes, long decodedBytes, long latencies, long latencyNanos) {
+            this.responses = responses;
+            this.encodedBytes = encodedBytes;
+            this.decodedBytes = decodedBytes;
+            this.latencies = latencies;
+            this.latencyNanos = latencyNanos;
+        }
+
+        /**
+         * Response bodies received with this encoding
+         */
+        public long getResponses() {
+            return responses;
+        }
+
+        /**
+         * Body bytes as transferred
+         */
+        public long getEncodedBytes() {
+            return encodedBytes;
+        }
+
+        public long getDecodedBytes() {
+            return decodedBytes;
+        }
+
+        /**
+         * Transferred size as a fraction of the decoded size
+         */
+        public double getRatio() {
+            return decodedBytes == 0 ? 1.0 : (double) encodedBytes / decodedBytes;
+        }
+
+        /**
+         * Average request latency, or 0 if none was recorded
+         */
+        public double getAverageLatencyMillis() {
+            return latencies == 0 ? 0.0 : latencyNanos / 1_000_000.0 / latencies;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("{responses=%d, encoded=%d B, decoded=%d B, ratio=%.1f%%, avgLatency=%.3f ms}",
+                    responses, encodedBytes, decodedBytes, getRatio() * 100, getAverageLatencyMillis());
+        }
+    }
+}
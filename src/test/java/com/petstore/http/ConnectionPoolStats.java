@@ -0,0 +1,81 @@
+package com.petstore.http;
+
+/**
+ * Immutable snapshot of connection pool usage, used to size the pool
+ */
+public class ConnectionPoolStats {
+    private final int leased;
+    private final int available;
+    private final int pending;
+    private final int max;
+    private final long hits;
+    private final long misses;
+    private final long totalLeaseWaitNanos;
+    private final long maxLeaseWaitNanos;
+
+    public ConnectionPoolStats(int leased, int available, int pending, int max,
+                               long hits, long misses, long totalLeaseWaitNanos, long maxLeaseWaitNanos) {
+        this.leased = leased;
+        this.available = available;
+        this.pending = pending;
+        this.max = max;
+        this.hits = hits;
+        this.misses = misses;
+        this.totalLeaseWaitNanos = totalLeaseWaitNanos;
+        this.maxLeaseWaitNanos = maxLeaseWaitNanos;
+    }
+
+    public int getLeased() {
+        return leased;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public int getPending() {
+        return pending;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getLeases() {
+        return hits + misses;
+    }
+
+    /**
+     * Fraction of leases served by an already open connection
+     */
+    public double getHitRate() {
+        long leases = getLeases();
+        return leases == 0 ? 0.0 : (double) hits / leases;
+    }
+
+    public double getAverageLeaseWaitMillis() {
+        long leases = getLeases();
+        return leases == 0 ? 0.0 : totalLeaseWaitNanos / 1_000_000.0 / leases;
+    }
+
+    public double getMaxLeaseWaitMillis() {
+        return maxLeaseWaitNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ConnectionPoolStats{leases=%d, hits=%d, misses=%d, hitRate=%.1f%%, avgLeaseWait=%.3f ms, "
+                        + "maxLeaseWait=%.3f ms, leased=%d, available=%d, pending=%d, max=%d}",
+                getLeases(), hits, misses, getHitRate() * 100, getAverageLeaseWaitMillis(),
+                getMaxLeaseWaitMillis(), leased, available, pending, max);
+    }
+}
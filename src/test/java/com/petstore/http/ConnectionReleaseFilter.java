@@ -0,0 +1,24 @@
+package com.petstore.http;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * REST Assured filter that buffers the response body as soon as it arrives.
+ * Reading the entity to the end releases the connection back to the pool,
+ * otherwise responses whose body is never read would keep their connection leased.
+ */
+public class ConnectionReleaseFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        response.asByteArray();
+        return response;
+    }
+}
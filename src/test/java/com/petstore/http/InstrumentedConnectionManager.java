@@ -0,0 +1,78 @@
+package com.petstore.http;
+
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pooling connection manager that records pool hits, misses and lease wait times
+ */
+@SuppressWarnings("deprecation")
+public class InstrumentedConnectionManager extends PoolingClientConnectionManager {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    public InstrumentedConnectionManager(SchemeRegistry schemeRegistry) {
+        super(schemeRegistry);
+    }
+
+    @Override
+    public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+        final ClientConnectionRequest delegate = super.requestConnection(route, state);
+        return new ClientConnectionRequest() {
+            @Override
+            public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                    throws InterruptedException, ConnectionPoolTimeoutException {
+                long start = System.nanoTime();
+                ManagedClientConnection connection = delegate.getConnection(timeout, unit);
+                recordLease(System.nanoTime() - start, connection.isOpen());
+                return connection;
+            }
+
+            @Override
+            public void abortRequest() {
+                delegate.abortRequest();
+            }
+        };
+    }
+
+    /**
+     * A leased connection that is already open was reused from the pool (hit),
+     * otherwise a new TCP/TLS connection has to be established (miss)
+     */
+    private void recordLease(long waitNanos, boolean reused) {
+        if (reused) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        leaseWaitNanos.add(waitNanos);
+        maxLeaseWaitNanos.accumulateAndGet(waitNanos, Math::max);
+    }
+
+    /**
+     * Take a snapshot of the current pool state and lease statistics
+     */
+    public ConnectionPoolStats getStats() {
+        PoolStats total = getTotalStats();
+        return new ConnectionPoolStats(
+                total.getLeased(),
+                total.getAvailable(),
+                total.getPending(),
+                total.getMax(),
+                hits.sum(),
+                misses.sum(),
+                leaseWaitNanos.sum(),
+                maxLeaseWaitNanos.get());
+    }
+}
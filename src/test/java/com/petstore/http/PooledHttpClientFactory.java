@@ -0,0 +1,83 @@
+package com.petstore.http;
+
+import com.petstore.config.TestConfig;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.params.ClientPNames;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Http client factory that hands REST Assured one shared, keep-alive enabled client
+ * backed by a bounded connection pool, asking for compressed responses and decoding them
+ * through the given ResponseDecoder
+ */
+@SuppressWarnings("deprecation")
+public class PooledHttpClientFactory implements HttpClientConfig.HttpClientFactory {
+    private final InstrumentedConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final ScheduledExecutorService idleConnectionEvictor;
+
+    public PooledHttpClientFactory(TestConfig config, ResponseDecoder decoder) {
+        connectionManager = new InstrumentedConnectionManager(SchemeRegistryFactory.createDefault());
+        connectionManager.setMaxTotal(config.getPoolMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(config.getPoolMaxPerRoute());
+
+        final long keepAliveMillis = TimeUnit.SECONDS.toMillis(config.getPoolKeepAlive());
+        httpClient = new DefaultHttpClient(connectionManager);
+        // Defaults for every request; RequestDeadline narrows the read timeout per request
+        HttpParams params = httpClient.getParams();
+        HttpConnectionParams.setConnectionTimeout(params, config.getConnectTimeoutMillis());
+        HttpConnectionParams.setSoTimeout(params, config.getReadTimeoutMillis());
+        params.setLongParameter(ClientPNames.CONN_MANAGER_TIMEOUT, config.getConnectTimeoutMillis());
+        httpClient.addRequestInterceptor(RequestDeadline.INTERCEPTOR);
+        httpClient.addRequestInterceptor(decoder.requestInterceptor);
+        httpClient.addResponseInterceptor(decoder.responseInterceptor);
+        httpClient.setKeepAliveStrategy(new DefaultConnectionKeepAliveStrategy() {
+            @Override
+            public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+                // Honour the server's Keep-Alive header, otherwise fall back to the configured duration
+                long serverKeepAlive = super.getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? serverKeepAlive : keepAliveMillis;
+            }
+        });
+
+        final int idleTimeout = config.getPoolIdleTimeout();
+        idleConnectionEvictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-idle-connection-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionInterval = Math.max(1, idleTimeout / 2);
+        idleConnectionEvictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleTimeout, TimeUnit.SECONDS);
+        }, evictionInterval, evictionInterval, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public HttpClient createHttpClient() {
+        return httpClient;
+    }
+
+    public ConnectionPoolStats getStats() {
+        return connectionManager.getStats();
+    }
+
+    /**
+     * Close all pooled connections and stop the idle connection evictor
+     */
+    public void shutdown() {
+        idleConnectionEvictor.shutdownNow();
+        connectionManager.shutdown();
+    }
+}
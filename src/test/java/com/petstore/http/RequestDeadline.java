@@ -0,0 +1,111 @@
+package com.petstore.http;
+
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.RequestWrapper;
+import org.apache.http.protocol.ExecutionContext;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read timeout and overall deadline for the request the current thread is sending through the pooled client.
+ * REST Assured offers no per-request timeouts on a shared client, so ApiClient opens a deadline around each
+ * attempt and the interceptor applies it once the connection is leased: it narrows the socket timeout to
+ * what is left of the deadline and schedules an abort of the request for when the deadline passes.
+ */
+@SuppressWarnings("deprecation")
+public final class RequestDeadline implements AutoCloseable {
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+    private static final ScheduledExecutorService ABORTER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "http-deadline-aborter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * Applies the current thread's deadline, if any, to each request the client sends
+     */
+    public static final HttpRequestInterceptor INTERCEPTOR = (request, context) -> {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline != null) {
+            HttpConnection connection = (HttpConnection) context.getAttribute(ExecutionContext.HTTP_CONNECTION);
+            HttpUriRequest original = request instanceof RequestWrapper
+                    && ((RequestWrapper) request).getOriginal() instanceof HttpUriRequest
+                    ? (HttpUriRequest) ((RequestWrapper) request).getOriginal() : null;
+            deadline.apply(connection, original);
+        }
+    };
+    
+    private final long deadlineNanos;
+    private final int readTimeoutMillis;
+    private volatile boolean expired;
+    private ScheduledFuture<?> abort;
+    
+    private RequestDeadline(long deadlineNanos, int readTimeoutMillis) {
+        this.deadlineNanos = deadlineNanos;
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+    
+    /**
+     * Open a deadline for the current thread's next request; close it once the response has been read
+     *
+     * @param deadlineNanos System.nanoTime() by which the request must have completed
+     */
+    public static RequestDeadline open(long deadlineNanos, int readTimeoutMillis) {
+        RequestDeadline deadline = new RequestDeadline(deadlineNanos, readTimeoutMillis);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+    
+    /**
+     * Timeout left for the current thread's request: the read timeout, narrowed to what is left of the
+     * deadline, or the fallback when no deadline is open. Used by transports that take a timeout per request.
+     */
+    public static Duration remainingTimeout(Duration fallback) {
+        RequestDeadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return fallback;
+        }
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline.deadlineNanos - System.nanoTime());
+        return Duration.ofMillis(Math.max(1, Math.min(deadline.readTimeoutMillis, remainingMillis)));
+    }
+    
+    /**
+     * Whether the deadline passed before the request completed (the request may have been aborted)
+     */
+    public boolean isExpired() {
+        return expired || System.nanoTime() - deadlineNanos >= 0;
+    }
+    
+    private void apply(HttpConnection connection, HttpUriRequest request) throws SocketTimeoutException {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+        if (remainingMillis <= 0) {
+            expired = true;
+            throw new SocketTimeoutException("Deadline passed before the request was sent");
+        }
+        if (connection != null) {
+            connection.setSocketTimeout((int) Math.min(readTimeoutMillis, remainingMillis));
+        }
+        // Redirects and the client's own retries run the interceptors again; schedule the abort only once
+        if (request != null && abort == null) {
+            abort = ABORTER.schedule(() -> {
+                expired = true;
+                request.abort();
+            }, remainingMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    @Override
+    public void close() {
+        CURRENT.remove();
+        if (abort != null) {
+            abort.cancel(false);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.petstore.http;
+
+import org.apache.http.conn.ConnectTimeoutException;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpTimeoutException;
+
+/**
+ * A request that did not complete within its connect timeout, read timeout or overall deadline
+ */
+public class RequestTimeoutException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    
+    public enum Kind {
+        /** No connection (or pooled connection lease) within the connect timeout */
+        CONNECT,
+        /** The server stopped sending for longer than the read timeout */
+        READ,
+        /** The request, including retries, ran past its overall deadline */
+        DEADLINE;
+        
+        /**
+         * Outcome name used in reports, e.g. "read-timeout"
+         */
+        public String outcome() {
+            return name().toLowerCase() + "-timeout";
+        }
+    }
+    
+    private final Kind kind;
+    
+    public RequestTimeoutException(Kind kind, String message, Throwable cause) {
+        super(message, cause);
+        this.kind = kind;
+    }
+    
+    public Kind getKind() {
+        return kind;
+    }
+    
+    /**
+     * Classify a failed request as a timeout, or return null if the failure was not caused by one
+     *
+     * @param request description used in the message, e.g. "GET /pet/{petId}"
+     * @param deadlineExpired whether the request's overall deadline had passed when it failed
+     */
+    public static RequestTimeoutException from(String request, Throwable error, boolean deadlineExpired) {
+        if (error instanceof RequestTimeoutException) {
+            return (RequestTimeoutException) error;
+        }
+        Kind kind = null;
+        for (Throwable cause = error; cause != null && kind == null; cause = cause.getCause()) {
+            if (deadlineExpired && cause instanceof IOException) {
+                // An aborted request surfaces as a closed socket rather than a timeout
+                kind = Kind.DEADLINE;
+            } else if (cause instanceof ConnectTimeoutException || cause instanceof HttpConnectTimeoutException) {
+                kind = Kind.CONNECT;
+            } else if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
+                kind = Kind.READ;
+            }
+        }
+        return kind == null ? null
+                : new RequestTimeoutException(kind, String.format("%s hit its %s", request, kind.outcome()), error);
+    }
+}
@@ -0,0 +1,317 @@
+package com.petstore.http;
+
+import io.restassured.response.Response;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded LRU cache of GET responses, keyed by the request path including its query string.
+ * Entries are fresh for a fixed time to live, shortened by a Cache-Control max-age; a stale entry with an ETag
+ * is revalidated with If-None-Match so an unchanged resource costs a 304 instead of a full body.
+ * Responses marked no-store are not cached and no-cache responses are revalidated on every use.
+ * A write drops the cached paths of the item it changed (a PUT of pet 42 or a DELETE of /pet/42 invalidates
+ * /pet/42), plus the paths declared to depend on its top-level resource (/pet/findByStatus lists pets and
+ * /store/inventory counts them by status, so both depend on /pet). Reads of other pets stay cached.
+ * A write whose item is unknown drops everything under its top-level resource.
+ * Reads take the current write generation before they are sent; a response whose path was written
+ * since is handed back but not cached, so a GET that raced a write cannot put pre-write data back.
+ */
+public class ResponseCache {
+    private static final long NOT_CACHEABLE = -1;
+    // Writes remembered for reads in flight; a read older than the oldest remembered write is never cached
+    private static final int MAX_TRACKED_WRITES = 4096;
+    
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<String, Set<String>> dependents;
+    private final Map<String, Entry> entries;
+    private final Map<String, Long> lastWrite = new LinkedHashMap<>();
+    private long writeGeneration;
+    private long forgottenWriteGeneration;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    
+    public ResponseCache(long ttl, TimeUnit unit, int maxEntries) {
+        this(ttl, unit, maxEntries, Collections.emptyMap());
+    }
+    
+    /**
+     * @param dependents paths to invalidate as well when a top-level resource is written,
+     *                   e.g. "/pet" to ["/store/inventory"]
+     */
+    public ResponseCache(long ttl, TimeUnit unit, int maxEntries, Map<String, Set<String>> dependents) {
+        this.ttlNanos = unit.toNanos(ttl);
+        this.maxEntries = maxEntries;
+        this.dependents = dependents;
+        // Access order makes iteration order least recently used first
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Parse declared dependencies such as "/pet:/store/inventory, /user:/store/order": writes to the resource
+     * left of each colon also invalidate the path on its right
+     */
+    public static Map<String, Set<String>> parseDependencies(String declarations) {
+        Map<String, Set<String>> dependents = new HashMap<>();
+        for (String declaration : declarations.split(",")) {
+            if (declaration.isBlank()) {
+                continue;
+            }
+            String[] parts = declaration.split(":");
+            if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+                throw new IllegalArgumentException("Expected <written resource>:<dependent path> but got '"
+                        + declaration.trim() + "'");
+            }
+            dependents.computeIfAbsent(parts[0].trim(), key -> new LinkedHashSet<>()).add(parts[1].trim());
+        }
+        return dependents;
+    }
+    
+    private static final class Entry {
+        private final Response response;
+        private final String etag;
+        private long expiresAt;
+        
+        private Entry(Response response, String etag, long expiresAt) {
+            this.response = response;
+            this.etag = etag;
+            this.expiresAt = expiresAt;
+        }
+    }
+    
+    /**
+     * Cache key for a request, e.g. "/pet/42" for "/pet/{petId}" with petId=42
+     */
+    public static String key(String endpoint, Map<String, Object> pathParams) {
+        return AsyncHttpTransport.expandPathParams(endpoint, pathParams);
+    }
+    
+    /**
+     * The cached response if it is still fresh, otherwise null. Counts a hit or a miss.
+     */
+    public synchronized Response getFresh(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAt < 0) {
+            hits.increment();
+            return entry.response;
+        }
+        misses.increment();
+        return null;
+    }
+    
+    /**
+     * ETag of a stale cached response to revalidate with, or null
+     */
+    public synchronized String getETag(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.etag;
+    }
+    
+    /**
+     * Write generation to pass to {@link #store} for a GET about to be sent
+     */
+    public synchronized long readGeneration() {
+        return writeGeneration;
+    }
+    
+    /**
+     * Store the response of a GET and return the response to hand to the caller.
+     * A 304 renews the cached entry and returns the cached response; it returns null
+     * if that entry has been evicted or invalidated meanwhile, in which case the request must be repeated
+     * unconditionally. The response is not cached if its resource was written after readGeneration was taken.
+     */
+    public synchronized Response store(String key, Response response, long readGeneration) {
+        if (response.getStatusCode() == 304) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            long ttl = ttlOf(response);
+            if (ttl == NOT_CACHEABLE) {
+                entries.remove(key);
+            } else {
+                entry.expiresAt = System.nanoTime() + ttl;
+            }
+            revalidations.increment();
+            return entry.response;
+        }
+        if (writtenSince(key, readGeneration)) {
+            discarded.increment();
+            return response;
+        }
+        long ttl = response.getStatusCode() == 200 ? ttlOf(response) : NOT_CACHEABLE;
+        String etag = response.getHeader("ETag");
+        // An entry that is never fresh is only worth keeping when it can be revalidated
+        if (ttl == NOT_CACHEABLE || (ttl == 0 && etag == null)) {
+            entries.remove(key);
+        } else {
+            entries.put(key, new Entry(response, etag, System.nanoTime() + ttl));
+        }
+        return response;
+    }
+    
+    /**
+     * Drop every entry under the top-level resource of the given path, e.g. "/pet" for "/pet/{petId}",
+     * and under the paths that depend on it
+     */
+    public void invalidate(String endpoint) {
+        invalidatePath(resourceOf(endpoint));
+    }
+    
+    /**
+     * Drop the entries of the item a write changed and of the paths that depend on its resource.
+     * The item is given by the path up to its first parameter ("/pet/{petId}/uploadImage" with petId=42 is
+     * "/pet/42") or, for a write to a collection such as POST /pet, by the id it was answered with;
+     * with neither, the whole resource is dropped.
+     */
+    public void invalidate(String endpoint, Map<String, Object> pathParams, Object writtenId) {
+        int firstParam = endpoint.indexOf('}');
+        if (firstParam >= 0 && pathParams != null && !pathParams.isEmpty()) {
+            invalidatePath(key(endpoint.substring(0, firstParam + 1), pathParams));
+        } else if (writtenId != null && endpoint.indexOf('{') < 0) {
+            String path = pathOf(endpoint);
+            String item = "/" + AsyncHttpTransport.encodePathSegment(String.valueOf(writtenId));
+            invalidatePath(path.endsWith(item) ? path : path + item);
+        } else {
+            invalidatePath(resourceOf(endpoint));
+        }
+    }
+    
+    private synchronized void invalidatePath(String written) {
+        Set<String> paths = new LinkedHashSet<>();
+        paths.add(written);
+        paths.addAll(dependents.getOrDefault(resourceOf(written), Collections.emptySet()));
+        long generation = ++writeGeneration;
+        for (String path : paths) {
+            // Re-inserted so the map stays ordered from the oldest write to the newest
+            lastWrite.remove(path);
+            lastWrite.put(path, generation);
+        }
+        Iterator<Map.Entry<String, Long>> oldest = lastWrite.entrySet().iterator();
+        while (lastWrite.size() > MAX_TRACKED_WRITES) {
+            forgottenWriteGeneration = Math.max(forgottenWriteGeneration, oldest.next().getValue());
+            oldest.remove();
+        }
+        Iterator<String> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            for (String path : paths) {
+                if (covers(path, key)) {
+                    keys.remove();
+                    invalidations.increment();
+                    break;
+                }
+            }
+        }
+    }
+    
+    public synchronized void clear() {
+        entries.clear();
+    }
+    
+    /**
+     * Whether the key, or a path covering it, was written after the read generation was taken
+     */
+    private boolean writtenSince(String key, long readGeneration) {
+        if (forgottenWriteGeneration > readGeneration) {
+            return true;
+        }
+        for (int i = 1; i <= key.length(); i++) {
+            if (i == key.length() || key.charAt(i) == '/' || key.charAt(i) == '?') {
+                Long written = lastWrite.get(key.substring(0, i));
+                if (written != null && written > readGeneration) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Time to live of a response: none for no-store, zero for no-cache, otherwise the configured time to live
+     * shortened to max-age when that is smaller
+     */
+    private long ttlOf(Response response) {
+        String cacheControl = response.getHeader("Cache-Control");
+        if (cacheControl == null) {
+            return ttlNanos;
+        }
+        long ttl = ttlNanos;
+        for (String directive : cacheControl.toLowerCase(Locale.ROOT).split(",")) {
+            directive = directive.trim();
+            if (directive.equals("no-store")) {
+                return NOT_CACHEABLE;
+            }
+            if (directive.equals("no-cache")) {
+                ttl = 0;
+            } else if (directive.startsWith("max-age=")) {
+                try {
+                    long maxAge = Long.parseLong(directive.substring("max-age=".length()).replace("\"", ""));
+                    ttl = Math.min(ttl, TimeUnit.SECONDS.toNanos(Math.max(0, maxAge)));
+                } catch (NumberFormatException e) {
+                    // Malformed max-age; keep the configured time to live
+                }
+            }
+        }
+        return ttl;
+    }
+    
+    /**
+     * Whether the cache key is the path itself or lies under it, e.g. "/pet" covers "/pet/42" and
+     * "/pet?status=sold" but not "/petstore"
+     */
+    private static boolean covers(String path, String key) {
+        if (!key.startsWith(path)) {
+            return false;
+        }
+        if (key.length() == path.length()) {
+            return true;
+        }
+        char next = key.charAt(path.length());
+        return next == '/' || next == '?';
+    }
+    
+    private static String pathOf(String endpoint) {
+        int query = endpoint.indexOf('?');
+        return query < 0 ? endpoint : endpoint.substring(0, query);
+    }
+    
+    private static String resourceOf(String path) {
+        int end = path.length();
+        for (int i = 1; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '/' || c == '?') {
+                end = i;
+                break;
+            }
+        }
+        return path.substring(0, end);
+    }
+    
+    public synchronized ResponseCacheStats getStats() {
+        return new ResponseCacheStats(entries.size(), maxEntries, hits.sum(), misses.sum(),
+                revalidations.sum(), evictions.sum(), invalidations.sum(), discarded.sum());
+    }
+}
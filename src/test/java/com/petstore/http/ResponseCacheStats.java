@@ -0,0 +1,82 @@
+package com.petstore.http;
+
+/**
+ * Immutable snapshot of response cache usage
+ */
+public class ResponseCacheStats {
+    private final int size;
+    private final int maxEntries;
+    private final long hits;
+    private final long misses;
+    private final long revalidations;
+    private final long evictions;
+    private final long invalidations;
+    private final long discarded;
+    
+    public ResponseCacheStats(int size, int maxEntries, long hits, long misses,
+                              long revalidations, long evictions, long invalidations, long discarded) {
+        this.size = size;
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+        this.revalidations = revalidations;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.discarded = discarded;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    /**
+     * Misses answered with 304 Not Modified, i.e. served from cache without transferring the body again
+     */
+    public long getRevalidations() {
+        return revalidations;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    public long getInvalidations() {
+        return invalidations;
+    }
+    
+    /**
+     * Responses not cached because a write to their resource completed while the GET was in flight
+     */
+    public long getDiscarded() {
+        return discarded;
+    }
+    
+    /**
+     * Fraction of lookups served from cache without contacting the server
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+                "ResponseCacheStats{hits=%d, misses=%d, hitRate=%.1f%%, revalidations=%d, evictions=%d, "
+                        + "invalidations=%d, discarded=%d, size=%d, max=%d}",
+                hits, misses, getHitRate() * 100, revalidations, evictions, invalidations, discarded, size,
+                maxEntries);
+    }
+}
@@ -0,0 +1,208 @@
+package com.petstore.http;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidation, write races and Cache-Control handling of {@link ResponseCache}
+ */
+public class ResponseCacheTest {
+
+    private static Response response(int status, String... headers) {
+        List<Header> headerList = new ArrayList<>();
+        for (int i = 0; i < headers.length; i += 2) {
+            headerList.add(new Header(headers[i], headers[i + 1]));
+        }
+        return new ResponseBuilder()
+                .setStatusCode(status)
+                .setHeaders(new Headers(headerList))
+                .setBody("{}")
+                .build();
+    }
+
+    private static ResponseCache cache() {
+        return new ResponseCache(30, TimeUnit.SECONDS, 16,
+                ResponseCache.parseDependencies("/pet:/pet/findByStatus,/pet:/store/inventory"));
+    }
+
+    private static void cache(ResponseCache cache, String key) {
+        cache.store(key, response(200), cache.readGeneration());
+    }
+
+    @Test
+    public void writeDropsPathsUnderTheSameResource() {
+        ResponseCache cache = cache();
+        cache(cache, "/pet/42");
+        cache(cache, "/pet/findByStatus?status=available");
+        cache(cache, "/petstore");
+        cache.invalidate("/pet");
+        Assert.assertNull(cache.getFresh("/pet/42"));
+        Assert.assertNull(cache.getFresh("/pet/findByStatus?status=available"));
+        Assert.assertNotNull(cache.getFresh("/petstore"), "A different resource sharing the prefix is kept");
+    }
+
+    @Test
+    public void writeDropsDeclaredDependents() {
+        ResponseCache cache = cache();
+        cache(cache, "/store/inventory");
+        cache(cache, "/store/order/7");
+        cache.invalidate("/pet/{petId}");
+        Assert.assertNull(cache.getFresh("/store/inventory"), "The inventory depends on pet status");
+        Assert.assertNotNull(cache.getFresh("/store/order/7"), "Only the declared path is invalidated");
+    }
+
+    @Test
+    public void writeToAnItemKeepsOtherItems() {
+        ResponseCache cache = cache();
+        cache(cache, "/pet/42");
+        cache(cache, "/pet/43");
+        cache(cache, "/pet/findByStatus?status=available");
+        cache(cache, "/store/inventory");
+        cache.invalidate("/pet/{petId}", Map.of("petId", 42), null);
+        Assert.assertNull(cache.getFresh("/pet/42"));
+        Assert.assertNotNull(cache.getFresh("/pet/43"), "An unchanged pet stays cached");
+        Assert.assertNull(cache.getFresh("/pet/findByStatus?status=available"), "Lists depend on every pet");
+        Assert.assertNull(cache.getFresh("/store/inventory"));
+    }
+
+    @Test
+    public void writeIsNarrowedToTheItemOfItsFirstPathParam() {
+        ResponseCache cache = cache();
+        cache(cache, "/pet/42");
+        cache(cache, "/pet/43");
+        cache.invalidate("/pet/{petId}/uploadImage", Map.of("petId", 42), null);
+        Assert.assertNull(cache.getFresh("/pet/42"), "Uploading an image changes the pet");
+        Assert.assertNotNull(cache.getFresh("/pet/43"));
+    }
+
+    @Test
+    public void writeToACollectionIsNarrowedByTheIdItWasAnsweredWith() {
+        ResponseCache cache = cache();
+        cache(cache, "/pet/42");
+        cache(cache, "/pet/43");
+        cache.invalidate("/pet", Map.of(), 42L);
+        Assert.assertNull(cache.getFresh("/pet/42"));
+        Assert.assertNotNull(cache.getFresh("/pet/43"));
+
+        cache.invalidate("/pet", Map.of(), null);
+        Assert.assertNull(cache.getFresh("/pet/43"), "Without an id the whole resource is dropped");
+    }
+
+    @Test
+    public void getThatRacedAWriteToAnotherItemIsCached() {
+        ResponseCache cache = cache();
+        long generation = cache.readGeneration();
+        cache.invalidate("/pet/{petId}", Map.of("petId", 42), null);
+        cache.store("/pet/42", response(200), generation);
+        cache.store("/pet/43", response(200), generation);
+        cache.store("/pet/findByStatus?status=sold", response(200), generation);
+        Assert.assertNull(cache.getFresh("/pet/42"));
+        Assert.assertNotNull(cache.getFresh("/pet/43"));
+        Assert.assertNull(cache.getFresh("/pet/findByStatus?status=sold"));
+    }
+
+    @Test
+    public void getOlderThanTheForgottenWritesIsNotCached() {
+        ResponseCache cache = cache();
+        long generation = cache.readGeneration();
+        for (int id = 0; id <= 5000; id++) {
+            cache.invalidate("/pet/{petId}", Map.of("petId", id), null);
+        }
+        cache.store("/pet/1", response(200), generation);
+        Assert.assertNull(cache.getFresh("/pet/1"), "The write to /pet/1 is no longer tracked");
+        cache.store("/pet/1", response(200), cache.readGeneration());
+        Assert.assertNotNull(cache.getFresh("/pet/1"));
+    }
+
+    @Test
+    public void responseOfGetThatRacedAWriteIsNotCached() {
+        ResponseCache cache = cache();
+        long generation = cache.readGeneration();
+        cache.invalidate("/pet");
+        Response raced = response(200);
+        Assert.assertSame(cache.store("/pet/42", raced, generation), raced, "The caller still gets its response");
+        Assert.assertNull(cache.getFresh("/pet/42"));
+        Assert.assertEquals(cache.getStats().getDiscarded(), 1);
+
+        cache.store("/pet/42", response(200), cache.readGeneration());
+        Assert.assertNotNull(cache.getFresh("/pet/42"), "A GET sent after the write is cached again");
+    }
+
+    @Test
+    public void writeToAnotherResourceDoesNotDiscard() {
+        ResponseCache cache = cache();
+        long generation = cache.readGeneration();
+        cache.invalidate("/user");
+        cache.store("/pet/42", response(200), generation);
+        Assert.assertNotNull(cache.getFresh("/pet/42"));
+    }
+
+    @Test
+    public void noStoreIsNotCached() {
+        ResponseCache cache = cache();
+        cache.store("/pet/42", response(200, "Cache-Control", "private, no-store"), cache.readGeneration());
+        Assert.assertNull(cache.getFresh("/pet/42"));
+        Assert.assertNull(cache.getETag("/pet/42"));
+    }
+
+    @Test
+    public void noCacheIsKeptOnlyForRevalidation() {
+        ResponseCache cache = cache();
+        cache.store("/pet/42", response(200, "Cache-Control", "no-cache", "ETag", "\"v1\""), cache.readGeneration());
+        Assert.assertNull(cache.getFresh("/pet/42"), "Never served without revalidation");
+        Assert.assertEquals(cache.getETag("/pet/42"), "\"v1\"");
+
+        cache.store("/pet/43", response(200, "Cache-Control", "no-cache"), cache.readGeneration());
+        Assert.assertNull(cache.getETag("/pet/43"), "Nothing to revalidate with, so nothing is kept");
+    }
+
+    @Test
+    public void maxAgeShortensTheTimeToLive() {
+        ResponseCache cache = cache();
+        cache.store("/pet/42", response(200, "Cache-Control", "max-age=0", "ETag", "\"v1\""), cache.readGeneration());
+        Assert.assertNull(cache.getFresh("/pet/42"));
+        cache.store("/pet/43", response(200, "Cache-Control", "max-age=600"), cache.readGeneration());
+        Assert.assertNotNull(cache.getFresh("/pet/43"));
+    }
+
+    @Test
+    public void notModifiedRenewsTheCachedResponse() {
+        ResponseCache cache = cache();
+        Response original = response(200, "Cache-Control", "no-cache", "ETag", "\"v1\"");
+        cache.store("/pet/42", original, cache.readGeneration());
+        Assert.assertSame(cache.store("/pet/42", response(304), cache.readGeneration()), original);
+        Assert.assertSame(cache.getFresh("/pet/42"), original, "A 304 without Cache-Control gets the full time to live");
+
+        cache.invalidate("/pet");
+        Assert.assertNull(cache.store("/pet/42", response(304), cache.readGeneration()),
+                "An invalidated entry must be fetched again");
+    }
+
+    @Test
+    public void keyEncodesPathParamsAsPathSegments() {
+        Assert.assertEquals(ResponseCache.key("/pet/{petId}", Map.of("petId", 42)), "/pet/42");
+        Assert.assertEquals(ResponseCache.key("/user/{username}", Map.of("username", "jo doe+1@x.com")),
+                "/user/jo%20doe+1@x.com", "A space is %20 and sub-delims stay as they are");
+        Assert.assertEquals(ResponseCache.key("/user/{username}", Map.of("username", "a/b?c#d%")),
+                "/user/a%2Fb%3Fc%23d%25");
+        Assert.assertEquals(ResponseCache.key("/user/{username}", Map.of("username", "Zoë")), "/user/Zo%C3%AB");
+    }
+
+    @Test
+    public void dependenciesAreParsed() {
+        Assert.assertEquals(ResponseCache.parseDependencies(" /pet:/store/inventory, /pet:/user ,"),
+                Map.of("/pet", Set.of("/store/inventory", "/user")));
+        Assert.assertEquals(ResponseCache.parseDependencies(""), Map.of());
+        Assert.expectThrows(IllegalArgumentException.class, () -> ResponseCache.parseDependencies("/pet"));
+    }
+}
@@ -0,0 +1,304 @@
+package com.petstore.http;
+
+import com.petstore.config.TestConfig;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.brotli.dec.BrotliInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ObjLongConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Negotiates compressed responses and decodes gzip, deflate and br bodies for both transports.
+ * The pooled client decodes while REST Assured reads the body, the async transport decodes the
+ * received bytes; either way the encoded and decoded sizes and the latency per encoding are counted,
+ * so the savings show up in the end-of-suite report. Bodies in any other encoding are passed on as received.
+ */
+public class ResponseDecoder {
+    public static final List<String> SUPPORTED_ENCODINGS = List.of("gzip", "deflate", "br");
+    private static final String IDENTITY = "identity";
+
+    private final List<String> encodings;
+    private final String acceptEncoding;
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Adds Accept-Encoding to requests sent by the pooled client
+     */
+    public final HttpRequestInterceptor requestInterceptor;
+
+    /**
+     * Replaces response entities of the pooled client that have a body in a supported encoding with decoding
+     * ones; unencoded bodies are only counted
+     */
+    public final HttpResponseInterceptor responseInterceptor;
+
+    /**
+     * @param encodings encodings to advertise in Accept-Encoding, in order of preference; empty to ask for none
+     */
+    public ResponseDecoder(List<String> encodings) {
+        for (String encoding : encodings) {
+            if (!SUPPORTED_ENCODINGS.contains(encoding)) {
+                throw new IllegalArgumentException("Unsupported content encoding '" + encoding
+                        + "', expected one of " + SUPPORTED_ENCODINGS);
+            }
+        }
+        this.encodings = Collections.unmodifiableList(new ArrayList<>(encodings));
+        this.acceptEncoding = encodings.isEmpty() ? null : String.join(", ", encodings);
+        this.requestInterceptor = (request, context) -> {
+            if (acceptEncoding != null && !request.containsHeader("Accept-Encoding")) {
+                request.addHeader("Accept-Encoding", acceptEncoding);
+            }
+        };
+        this.responseInterceptor = (response, context) -> {
+            HttpEntity entity = response.getEntity();
+            if (entity == null || entity.getContentLength() == 0) {
+                return;
+            }
+            String encoding = encodingOf(entity.getContentEncoding());
+            if (IDENTITY.equals(encoding) || SUPPORTED_ENCODINGS.contains(encoding)) {
+                response.setEntity(new DecodingEntity(entity, encoding));
+            }
+        };
+    }
+
+    public static ResponseDecoder fromConfig(TestConfig config) {
+        List<String> encodings = new ArrayList<>();
+        for (String encoding : config.getHttpCompression().split(",")) {
+            if (!encoding.isBlank()) {
+                encodings.add(encoding.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        return new ResponseDecoder(encodings);
+    }
+
+    public List<String> getEncodings() {
+        return encodings;
+    }
+
+    /**
+     * Accept-Encoding header value, or null when compression is disabled
+     */
+    public String getAcceptEncoding() {
+        return acceptEncoding;
+    }
+
+    /**
+     * Decode a complete body received with the given Content-Encoding header value (may be null)
+     */
+    public byte[] decode(String contentEncoding, byte[] body) throws IOException {
+        String encoding = encodingOf(contentEncoding);
+        byte[] decoded = body;
+        if (SUPPORTED_ENCODINGS.contains(encoding) && body.length > 0) {
+            try (InputStream in = decoding(encoding, new ByteArrayInputStream(body))) {
+                decoded = in.readAllBytes();
+            }
+        }
+        counters(encoding).record(body.length, decoded.length);
+        return decoded;
+    }
+
+    /**
+     * Record the latency of a request whose response had the given Content-Encoding header value (may be null)
+     */
+    public void recordLatency(String contentEncoding, long nanos) {
+        Counters counts = counters(encodingOf(contentEncoding));
+        counts.latencies.increment();
+        counts.latencyNanos.add(nanos);
+    }
+
+    public CompressionStats getStats() {
+        Map<String, CompressionStats.Encoding> byEncoding = new TreeMap<>();
+        counters.forEach((encoding, counts) -> byEncoding.put(encoding, new CompressionStats.Encoding(
+                counts.responses.sum(), counts.encodedBytes.sum(), counts.decodedBytes.sum(),
+                counts.latencies.sum(), counts.latencyNanos.sum())));
+        return new CompressionStats(acceptEncoding, byEncoding);
+    }
+
+    private Counters counters(String encoding) {
+        return counters.computeIfAbsent(encoding, key -> new Counters());
+    }
+
+    private static String encodingOf(Header contentEncoding) {
+        return encodingOf(contentEncoding == null ? null : contentEncoding.getValue());
+    }
+
+    private static String encodingOf(String contentEncoding) {
+        if (contentEncoding == null || contentEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        return "x-gzip".equals(encoding) ? "gzip" : encoding;
+    }
+
+    private static InputStream decoding(String encoding, InputStream in) throws IOException {
+        switch (encoding) {
+            case "gzip":
+                return new GZIPInputStream(in, 8192);
+            case "deflate":
+                return inflating(in);
+            case "br":
+                return new BrotliInputStream(in);
+            default:
+                throw new IOException("Unsupported content encoding: " + encoding);
+        }
+    }
+
+    /**
+     * Inflate a deflate body. The encoding means zlib-wrapped data (RFC 9110), but some servers send raw
+     * deflate data, so the zlib header is checked for: compression method 8 and a header divisible by 31.
+     */
+    private static InputStream inflating(InputStream in) throws IOException {
+        PushbackInputStream peeked = new PushbackInputStream(in, 2);
+        byte[] header = peeked.readNBytes(2);
+        peeked.unread(header);
+        boolean zlib = header.length == 2 && (header[0] & 0x0F) == 8
+                && (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+        if (zlib) {
+            return new InflaterInputStream(peeked);
+        }
+        Inflater raw = new Inflater(true);
+        return new InflaterInputStream(peeked, raw) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    // Only an inflater the stream created itself is ended on close
+                    raw.end();
+                }
+            }
+        };
+    }
+
+    private static final class Counters {
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder encodedBytes = new LongAdder();
+        private final LongAdder decodedBytes = new LongAdder();
+        private final LongAdder latencies = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+
+        void record(long encoded, long decoded) {
+            responses.increment();
+            encodedBytes.add(encoded);
+            decodedBytes.add(decoded);
+        }
+    }
+
+    /**
+     * Entity whose content is decoded as it is read; the Content-Encoding header is left on the response
+     * so the encoding can still be reported, but the entity itself no longer claims to be encoded
+     */
+    private final class DecodingEntity extends HttpEntityWrapper {
+        private final String encoding;
+
+        DecodingEntity(HttpEntity wrapped, String encoding) {
+            super(wrapped);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            CountingInputStream encoded = new CountingInputStream(wrappedEntity.getContent(), null);
+            if (IDENTITY.equals(encoding)) {
+                return new CountingInputStream(encoded, (stream, count) -> counters(encoding).record(count, count));
+            }
+            // A body of unknown length may still be empty, and the gzip decoder fails on a missing header
+            PushbackInputStream peeked = new PushbackInputStream(encoded, 1);
+            int first = peeked.read();
+            if (first < 0) {
+                return new CountingInputStream(peeked, (stream, count) -> counters(encoding).record(0, 0));
+            }
+            peeked.unread(first);
+            return new CountingInputStream(decoding(encoding, peeked),
+                    (stream, count) -> counters(encoding).record(encoded.count, count));
+        }
+
+        @Override
+        public Header getContentEncoding() {
+            return null;
+        }
+
+        @Override
+        public long getContentLength() {
+            return IDENTITY.equals(encoding) ? super.getContentLength() : -1;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream in = getContent()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes read and reports the total once, at the end of the stream or when it is closed
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+        private final ObjLongConsumer<CountingInputStream> onDone;
+        private long count;
+        private boolean done;
+
+        CountingInputStream(InputStream in, ObjLongConsumer<CountingInputStream> onDone) {
+            super(in);
+            this.onDone = onDone;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                finish();
+            } else {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read < 0) {
+                finish();
+            } else {
+                count += read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            super.close();
+        }
+
+        private void finish() {
+            if (!done) {
+                done = true;
+                if (onDone != null) {
+                    onDone.accept(this, count);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.petstore.http;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Decoding of both deflate variants and pass-through of bodies {@link ResponseDecoder} cannot decode
+ */
+public class ResponseDecoderTest {
+    private static final byte[] BODY = "{\"id\":42,\"name\":\"Rex\",\"status\":\"available\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private static ResponseDecoder decoder() {
+        return new ResponseDecoder(List.of("gzip", "deflate", "br"));
+    }
+
+    private static byte[] deflate(byte[] body, boolean raw) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+        try (DeflaterOutputStream deflating = new DeflaterOutputStream(out, deflater)) {
+            deflating.write(body);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static HttpResponse response(HttpEntity entity) {
+        HttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, 200, "OK");
+        response.setEntity(entity);
+        return response;
+    }
+
+    private static HttpEntity encoded(byte[] body, String encoding) {
+        ByteArrayEntity entity = new ByteArrayEntity(body);
+        entity.setContentEncoding(encoding);
+        return entity;
+    }
+
+    private static byte[] read(HttpEntity entity) throws Exception {
+        try (InputStream in = entity.getContent()) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void zlibWrappedDeflateIsDecoded() throws Exception {
+        Assert.assertEquals(decoder().decode("deflate", deflate(BODY, false)), BODY);
+    }
+
+    @Test
+    public void rawDeflateIsDecoded() throws Exception {
+        Assert.assertEquals(decoder().decode("deflate", deflate(BODY, true)), BODY);
+    }
+
+    @Test
+    public void unsupportedEncodingIsPassedOnAsReceived() throws Exception {
+        byte[] compressed = "not decodable here".getBytes(StandardCharsets.UTF_8);
+        Assert.assertEquals(decoder().decode("compress", compressed), compressed);
+
+        HttpResponse response = response(encoded(compressed, "compress"));
+        HttpEntity entity = response.getEntity();
+        decoder().responseInterceptor.process(response, new BasicHttpContext());
+        Assert.assertSame(response.getEntity(), entity);
+    }
+
+    @Test
+    public void encodedEntityIsDecodedWhileRead() throws Exception {
+        HttpResponse response = response(encoded(gzip(BODY), "gzip"));
+        decoder().responseInterceptor.process(response, new BasicHttpContext());
+        Assert.assertNull(response.getEntity().getContentEncoding());
+        Assert.assertEquals(read(response.getEntity()), BODY);
+    }
+
+    @Test
+    public void emptyEncodedBodyIsLeftAlone() throws Exception {
+        HttpResponse known = response(encoded(new byte[0], "gzip"));
+        HttpEntity entity = known.getEntity();
+        decoder().responseInterceptor.process(known, new BasicHttpContext());
+        Assert.assertSame(known.getEntity(), entity);
+
+        // Chunked: the length is unknown until the body has been read
+        InputStreamEntity chunked = new InputStreamEntity(new ByteArrayInputStream(new byte[0]), -1);
+        chunked.setContentEncoding("gzip");
+        HttpResponse unknown = response(chunked);
+        decoder().responseInterceptor.process(unknown, new BasicHttpContext());
+        Assert.assertEquals(read(unknown.getEntity()), new byte[0]);
+    }
+}
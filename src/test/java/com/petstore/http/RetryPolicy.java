@@ -0,0 +1,192 @@
+package com.petstore.http;
+
+import com.petstore.config.TestConfig;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Decides whether a failed request is retried and how long to back off first.
+ * <ul>
+ *   <li>Only idempotent methods are retried by default (retry.methods); a connection that could not be
+ *   established is retried for any method because the request never reached the server.</li>
+ *   <li>Backoff is exponential with full jitter: a random delay between 0 and min(max, base * 2^attempt),
+ *   so clients that failed together do not retry together.</li>
+ *   <li>A retry budget caps retries to a fraction of recent requests, so a struggling server under load is not
+ *   hit by a retry storm on top of the regular traffic. Each request earns ratio of a retry; earned retries are
+ *   banked up to a burst cap. On top of that a small floor of retries per second is always available, whatever
+ *   the traffic, so a run that sends few requests can still retry.</li>
+ * </ul>
+ */
+public class RetryPolicy {
+    private static final long TOKEN = 1000;
+    
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final Set<String> methods;
+    private final Set<Integer> statuses;
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+    private final long floorIntervalNanos;
+    private final long floorBurstNanos;
+    private final AtomicLong floorNextNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, LongAdder> retriesPerEndpoint = new ConcurrentHashMap<>();
+    private final LongAdder budgetExhausted = new LongAdder();
+    
+    /**
+     * @param budgetRatio retries earned per request, e.g. 0.2 allows one retry per five requests
+     * @param budgetBurst most earned retries banked at any time
+     * @param budgetMinPerSecond retries per second always available, whatever the traffic; 0 for none
+     */
+    public RetryPolicy(int maxRetries, Duration baseDelay, Duration maxDelay, Set<String> methods,
+                       Set<Integer> statuses, double budgetRatio, int budgetBurst, int budgetMinPerSecond) {
+        this(maxRetries, baseDelay, maxDelay, methods, statuses, budgetRatio, budgetBurst, budgetMinPerSecond,
+                System::nanoTime);
+    }
+    
+    /**
+     * @param nanoClock time source for the per-second floor, replaceable in tests
+     */
+    RetryPolicy(int maxRetries, Duration baseDelay, Duration maxDelay, Set<String> methods, Set<Integer> statuses,
+                double budgetRatio, int budgetBurst, int budgetMinPerSecond, LongSupplier nanoClock) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.methods = methods;
+        this.statuses = statuses;
+        this.depositPerRequest = Math.round(budgetRatio * TOKEN);
+        this.maxBalance = budgetBurst * TOKEN;
+        this.nanoClock = nanoClock;
+        // The floor is paced like a rate limiter that may run up to one second ahead: budgetMinPerSecond
+        // retries at once, then one every 1/budgetMinPerSecond seconds
+        this.floorIntervalNanos = budgetMinPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / budgetMinPerSecond : 0;
+        this.floorBurstNanos = floorIntervalNanos * budgetMinPerSecond;
+        this.floorNextNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+    
+    public static RetryPolicy fromConfig(TestConfig config) {
+        return new RetryPolicy(
+                config.getRetryCount(),
+                Duration.ofMillis(config.getRetryBackoffBaseMillis()),
+                Duration.ofMillis(config.getRetryBackoffMaxMillis()),
+                Arrays.stream(config.getRetryMethods().split(","))
+                        .map(String::trim).map(String::toUpperCase).collect(Collectors.toSet()),
+                Arrays.stream(config.getRetryStatuses().split(","))
+                        .map(String::trim).map(Integer::valueOf).collect(Collectors.toSet()),
+                config.getRetryBudgetRatio(),
+                config.getRetryBudgetBurst(),
+                config.getRetryBudgetMinPerSecond());
+    }
+    
+    /**
+     * Record an initial (non-retry) request, which earns the budget a fraction of a retry
+     */
+    public void onRequest() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+    
+    public boolean isRetryable(String method, int statusCode) {
+        return statuses.contains(statusCode) && methods.contains(method);
+    }
+    
+    public boolean isRetryable(String method, Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException) {
+                return true;
+            }
+            if (cause instanceof IOException) {
+                return methods.contains(method);
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Claim a retry for a failed attempt (0 = the first attempt)
+     *
+     * @param remainingMillis time left before the request's deadline; no retry is made that cannot start before it
+     * @return milliseconds to wait before retrying, or -1 if the request must not be retried
+     */
+    public long nextDelayMillis(String endpoint, int attempt, long remainingMillis) {
+        if (attempt >= maxRetries) {
+            return -1;
+        }
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt, 30));
+        long delay = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        if (delay >= remainingMillis) {
+            return -1;
+        }
+        if (!withdrawEarned() && !withdrawFloor()) {
+            budgetExhausted.increment();
+            return -1;
+        }
+        retriesPerEndpoint.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        return delay;
+    }
+    
+    private boolean withdrawEarned() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKEN) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+    
+    private boolean withdrawFloor() {
+        if (floorIntervalNanos == 0) {
+            return false;
+        }
+        long now = nanoClock.getAsLong();
+        long next;
+        long claimed;
+        do {
+            next = floorNextNanos.get();
+            claimed = Math.max(next, now) + floorIntervalNanos;
+            if (claimed - now > floorBurstNanos) {
+                return false;
+            }
+        } while (!floorNextNanos.compareAndSet(next, claimed));
+        return true;
+    }
+    
+    /**
+     * Retries per endpoint, sorted by endpoint
+     */
+    public Map<String, Long> getRetriesPerEndpoint() {
+        Map<String, Long> retries = new TreeMap<>();
+        retriesPerEndpoint.forEach((endpoint, count) -> retries.put(endpoint, count.sum()));
+        return retries;
+    }
+    
+    /**
+     * Retries refused because the retry budget was used up
+     */
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+    
+    @Override
+    public String toString() {
+        Map<String, Long> retries = getRetriesPerEndpoint();
+        return String.format("RetryPolicy{retries=%d, budgetExhausted=%d, perEndpoint=%s}",
+                retries.values().stream().mapToLong(Long::longValue).sum(), getBudgetExhausted(), retries);
+    }
+}
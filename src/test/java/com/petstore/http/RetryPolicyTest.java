@@ -0,0 +1,111 @@
+package com.petstore.http;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retry budget and retryability rules of {@link RetryPolicy}
+ */
+public class RetryPolicyTest {
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private RetryPolicy policy(double ratio, int burst, int minPerSecond) {
+        return new RetryPolicy(100, Duration.ZERO, Duration.ZERO, Set.of("GET", "PUT", "DELETE"),
+                Set.of(500, 503), ratio, burst, minPerSecond, clock::get);
+    }
+
+    private static int retriesGranted(RetryPolicy policy, int attempts) {
+        int granted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (policy.nextDelayMillis("GET /pet", 0, NO_DEADLINE) >= 0) {
+                granted++;
+            }
+        }
+        return granted;
+    }
+
+    @Test
+    public void requestsEarnTheirRatioOfRetries() {
+        RetryPolicy policy = policy(0.2, 10, 0);
+        for (int i = 0; i < 10; i++) {
+            policy.onRequest();
+        }
+        Assert.assertEquals(retriesGranted(policy, 5), 2);
+        Assert.assertEquals(policy.getBudgetExhausted(), 3);
+    }
+
+    @Test
+    public void earnedRetriesAreCappedAtTheBurst() {
+        RetryPolicy policy = policy(1.0, 3, 0);
+        for (int i = 0; i < 100; i++) {
+            policy.onRequest();
+        }
+        Assert.assertEquals(retriesGranted(policy, 10), 3);
+    }
+
+    @Test
+    public void floorIsAvailableWithoutTraffic() {
+        RetryPolicy policy = policy(0.2, 10, 2);
+        Assert.assertEquals(retriesGranted(policy, 5), 2, "The floor allows its per-second retries at once");
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        Assert.assertEquals(retriesGranted(policy, 5), 1, "Half a second refills half the floor");
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        Assert.assertEquals(retriesGranted(policy, 5), 2, "Idle time does not bank more than one second of floor");
+    }
+
+    @Test
+    public void floorIsUsedOnlyOnceEarnedRetriesRunOut() {
+        RetryPolicy policy = policy(1.0, 10, 1);
+        policy.onRequest();
+        policy.onRequest();
+        Assert.assertEquals(retriesGranted(policy, 5), 3, "Two earned retries plus one from the floor");
+    }
+
+    @Test
+    public void noRetryBeyondMaxRetriesOrTheDeadline() {
+        RetryPolicy policy = new RetryPolicy(2, Duration.ofMillis(100), Duration.ofMillis(100), Set.of("GET"),
+                Set.of(500), 0.0, 0, 100, clock::get);
+        Assert.assertTrue(policy.nextDelayMillis("GET /pet", 1, NO_DEADLINE) >= 0);
+        Assert.assertEquals(policy.nextDelayMillis("GET /pet", 2, NO_DEADLINE), -1);
+        Assert.assertEquals(policy.nextDelayMillis("GET /pet", 0, 0), -1, "No retry can start after the deadline");
+    }
+
+    @Test
+    public void statusesAreRetriedOnlyForConfiguredMethods() {
+        RetryPolicy policy = policy(0.2, 10, 1);
+        Assert.assertTrue(policy.isRetryable("GET", 503));
+        Assert.assertFalse(policy.isRetryable("GET", 404));
+        Assert.assertFalse(policy.isRetryable("POST", 503), "POST is not idempotent and must not be replayed");
+    }
+
+    @Test
+    public void refusedConnectionsAreRetriedForAnyMethod() {
+        RetryPolicy policy = policy(0.2, 10, 1);
+        Assert.assertTrue(policy.isRetryable("POST", new ConnectException("Connection refused")));
+        Assert.assertTrue(policy.isRetryable("POST", new CompletionException(new ConnectException("refused"))),
+                "Causes are unwrapped");
+    }
+
+    @Test
+    public void otherIoErrorsAreRetriedOnlyForConfiguredMethods() {
+        RetryPolicy policy = policy(0.2, 10, 1);
+        IOException timeout = new SocketTimeoutException("Read timed out");
+        Assert.assertTrue(policy.isRetryable("GET", timeout));
+        Assert.assertTrue(policy.isRetryable("PUT", new CompletionException(timeout)));
+        Assert.assertFalse(policy.isRetryable("POST", timeout), "The POST may have reached the server");
+        Assert.assertFalse(policy.isRetryable("GET", new IllegalStateException("not an I/O error")));
+    }
+}
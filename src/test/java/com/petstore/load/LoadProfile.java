@@ -0,0 +1,70 @@
+package com.petstore.load;
+
+import com.petstore.config.TestConfig;
+
+import java.time.Duration;
+
+/**
+ * Shape of a load run: how many virtual users, how fast they ramp up, how long they run
+ * and the request rate they are held to
+ */
+public class LoadProfile {
+    private final int virtualUsers;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final double targetRps;
+
+    public LoadProfile(int virtualUsers, Duration rampUp, Duration duration, double targetRps) {
+        if (virtualUsers < 1) {
+            throw new IllegalArgumentException("At least one virtual user is required but was " + virtualUsers);
+        }
+        this.virtualUsers = virtualUsers;
+        this.rampUp = rampUp;
+        this.duration = duration;
+        this.targetRps = targetRps;
+    }
+
+    /**
+     * Read the profile from the load.* settings in config.properties (or -D overrides)
+     */
+    public static LoadProfile fromConfig(TestConfig config) {
+        return new LoadProfile(
+                Integer.parseInt(config.getProperty("load.virtual.users", "10")),
+                Duration.ofSeconds(Long.parseLong(config.getProperty("load.ramp.up.seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(config.getProperty("load.duration.seconds", "60"))),
+                Double.parseDouble(config.getProperty("load.target.rps", "0")));
+    }
+
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Target requests per second across all virtual users; 0 means unthrottled
+     */
+    public double getTargetRps() {
+        return targetRps;
+    }
+
+    /**
+     * Delay before the given virtual user (0-based) starts, spreading starts evenly over the ramp-up
+     */
+    public Duration startDelay(int user) {
+        return rampUp.multipliedBy(user).dividedBy(virtualUsers);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("virtualUsers=%d, rampUp=%ds, duration=%ds, targetRps=%s",
+                virtualUsers, rampUp.getSeconds(), duration.getSeconds(),
+                targetRps > 0 ? String.valueOf(targetRps) : "unlimited");
+    }
+}
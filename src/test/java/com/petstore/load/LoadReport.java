@@ -0,0 +1,60 @@
+package com.petstore.load;
+
+import com.petstore.metrics.LatencyRecorder;
+import com.petstore.metrics.LatencySummary;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Text report of a load run with latency percentiles per step and per endpoint
+ */
+public class LoadReport {
+    private final LoadProfile profile;
+    private final Duration elapsed;
+    private final long iterations;
+    private final long failedIterations;
+
+    public LoadReport(LoadProfile profile, Duration elapsed, long iterations, long failedIterations) {
+        this.profile = profile;
+        this.elapsed = elapsed;
+        this.iterations = iterations;
+        this.failedIterations = failedIterations;
+    }
+
+    public String render() {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1_000_000_000.0;
+        long requests = LatencyRecorder.endpoints().getCount();
+        StringBuilder report = new StringBuilder()
+                .append("Load Test Report").append(System.lineSeparator())
+                .append("================").append(System.lineSeparator())
+                .append(String.format("Profile:            %s%n", profile))
+                .append(String.format("Elapsed:            %d ms%n", elapsed.toMillis()))
+                .append(String.format("Iterations:         %d (failed %d, %.2f%%)%n", iterations, failedIterations,
+                        iterations == 0 ? 0.0 : failedIterations * 100.0 / iterations))
+                .append(String.format("Iterations/s:       %.2f%n", iterations / seconds))
+                .append(String.format("Requests:           %d%n", requests))
+                .append(String.format("Achieved RPS:       %.2f%n", requests / seconds))
+                .append(System.lineSeparator())
+                .append("Latency per step (ms)").append(System.lineSeparator())
+                .append(LatencySummary.header("Step")).append(System.lineSeparator());
+        for (LatencySummary summary : LatencyRecorder.steps().summaries()) {
+            report.append(summary.toRow()).append(System.lineSeparator());
+        }
+        report.append(System.lineSeparator())
+                .append("Latency per endpoint (ms)").append(System.lineSeparator())
+                .append(LatencySummary.header("Endpoint")).append(System.lineSeparator());
+        for (LatencySummary summary : LatencyRecorder.endpoints().summaries()) {
+            report.append(summary.toRow()).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    public void writeTo(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, render().getBytes(StandardCharsets.UTF_8));
+    }
+}
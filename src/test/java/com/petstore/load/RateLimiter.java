@@ -0,0 +1,42 @@
+package com.petstore.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free pacing limiter that spaces permits evenly at a fixed rate
+ */
+public class RateLimiter {
+    private final long intervalNanos;
+    private final AtomicLong nextSlotNanos;
+
+    public RateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive but was " + permitsPerSecond);
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.nextSlotNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Block until the caller's slot is due. Idle time is not banked, so a quiet period
+     * is not followed by a burst above the target rate.
+     */
+    public void acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+    }
+
+    /**
+     * Claim the next slot without waiting and return the nanoseconds until it is due (0 if it already is).
+     * For callers that must not block, such as asynchronous requests, which schedule themselves instead.
+     */
+    public long reserve() {
+        long now = System.nanoTime();
+        long previous = nextSlotNanos.getAndAccumulate(now, (slot, current) -> Math.max(slot, current) + intervalNanos);
+        return Math.max(previous, now) - now;
+    }
+}
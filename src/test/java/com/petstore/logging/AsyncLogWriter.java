@@ -0,0 +1,60 @@
+package com.petstore.logging;
+
+import java.io.PrintStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes finished scenario logs, suite summaries, reports and notices to stdout from a single background
+ * thread, so scenario threads never wait on the stdout lock and nothing interleaves with a scenario log.
+ * Each text written is one block.
+ */
+public class AsyncLogWriter {
+    private final PrintStream out;
+    private final ExecutorService writer;
+
+    private AsyncLogWriter(PrintStream out) {
+        this.out = out;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scenario-log-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Daemon thread: write whatever is still queued when the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(5, TimeUnit.SECONDS), "scenario-log-flush"));
+    }
+
+    private static class Holder {
+        private static final AsyncLogWriter INSTANCE = new AsyncLogWriter(System.out);
+    }
+
+    public static AsyncLogWriter getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Queue a block of text; returns immediately
+     */
+    public void write(String text) {
+        writer.execute(() -> {
+            out.print(text);
+            out.flush();
+        });
+    }
+
+    /**
+     * Wait until everything queued so far has been written
+     */
+    public void flush(long timeout, TimeUnit unit) {
+        try {
+            Future<?> marker = writer.submit(() -> { });
+            marker.get(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            System.err.println("Scenario logs not flushed: " + e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.petstore.logging;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Log buffer of a single scenario. Steps only append the message template and its arguments;
+ * formatting and writing happen once, after the scenario has finished, so logging stays off the
+ * request path and lines of scenarios running in parallel never interleave.
+ */
+public class ScenarioLog {
+    /**
+     * Passed to {@link #render(int)} to keep response bodies complete
+     */
+    public static final int FULL_BODIES = -1;
+
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final List<Entry> entries = new ArrayList<>();
+
+    /**
+     * Append a line; the message is formatted with {@link String#format} only when the log is rendered
+     */
+    public synchronized void info(String format, Object... args) {
+        entries.add(new Entry(System.currentTimeMillis(), format, args, null));
+    }
+
+    /**
+     * Append a response or request body, truncated when the log is rendered for the console
+     */
+    public synchronized void body(String label, String body) {
+        entries.add(new Entry(System.currentTimeMillis(), label, null, body == null ? "" : body));
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Format all entries as one block of text
+     *
+     * @param maxBodyChars bodies longer than this are cut off, or {@link #FULL_BODIES} to keep them whole
+     */
+    public synchronized String render(int maxBodyChars) {
+        StringBuilder text = new StringBuilder();
+        for (Entry entry : entries) {
+            text.append('[').append(TIME_FORMAT.format(Instant.ofEpochMilli(entry.timeMillis))).append("] ");
+            if (entry.body == null) {
+                text.append(entry.args.length == 0 ? entry.format : String.format(entry.format, entry.args));
+            } else {
+                text.append(entry.format).append(": ").append(truncate(entry.body, maxBodyChars));
+            }
+            text.append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    static String truncate(String body, int maxChars) {
+        if (maxChars < 0 || body.length() <= maxChars) {
+            return body;
+        }
+        return body.substring(0, maxChars) + "... (" + (body.length() - maxChars) + " more chars)";
+    }
+
+    private static final class Entry {
+        private final long timeMillis;
+        private final String format;
+        private final Object[] args;
+        private final String body;
+
+        private Entry(long timeMillis, String format, Object[] args, String body) {
+            this.timeMillis = timeMillis;
+            this.format = format;
+            this.args = args;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.petstore.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records latencies by name (an endpoint such as "GET /pet/{petId}" or a step pattern) into
+ * high-dynamic-range histograms. Recording is lock-free and allocation-free once a name has been
+ * seen, so it can stay enabled on every request. Values are kept in microseconds with two
+ * significant digits, i.e. percentiles are accurate to within 1%.
+ */
+public class LatencyRecorder {
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final LatencyRecorder ENDPOINTS = new LatencyRecorder();
+    private static final LatencyRecorder STEPS = new LatencyRecorder();
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Latencies of HTTP calls made through ApiClient, keyed by method and endpoint
+     */
+    public static LatencyRecorder endpoints() {
+        return ENDPOINTS;
+    }
+
+    /**
+     * Latencies of Cucumber steps, keyed by step pattern
+     */
+    public static LatencyRecorder steps() {
+        return STEPS;
+    }
+
+    public void record(String name, long nanos) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, key -> new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+        }
+        histogram.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (Histogram histogram : histograms.values()) {
+            count += histogram.getTotalCount();
+        }
+        return count;
+    }
+
+    /**
+     * Copy of the histogram recorded for the given name, or null if nothing was recorded
+     */
+    public Histogram snapshot(String name) {
+        Histogram histogram = histograms.get(name);
+        return histogram == null ? null : histogram.copy();
+    }
+
+    /**
+     * Percentile summaries for every recorded name, sorted by name
+     */
+    public List<LatencySummary> summaries() {
+        List<LatencySummary> summaries = new ArrayList<>();
+        histograms.forEach((name, histogram) -> summaries.add(summarize(name, histogram.copy())));
+        summaries.sort((a, b) -> a.getName().compareTo(b.getName()));
+        return summaries;
+    }
+
+    public void reset() {
+        histograms.clear();
+    }
+
+    private static LatencySummary summarize(String name, Histogram histogram) {
+        return new LatencySummary(name, histogram.getTotalCount(),
+                histogram.getMean() / 1000.0,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.petstore.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the latencies recorded during a run next to the Cucumber reports:
+ * a readable summary table, a CSV for comparing builds, the full HDR percentile
+ * distribution of every endpoint, and the counted outcomes such as timeouts
+ */
+public class LatencyReport {
+    private static final String CSV_HEADER = "type,name,count,meanMs,p50Ms,p95Ms,p99Ms,maxMs";
+
+    private LatencyReport() {
+    }
+
+    public static void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<LatencySummary> endpoints = LatencyRecorder.endpoints().summaries();
+        List<LatencySummary> steps = LatencyRecorder.steps().summaries();
+
+        StringBuilder summary = new StringBuilder()
+                .append("Latency per endpoint (ms)").append(System.lineSeparator())
+                .append(LatencySummary.header("Endpoint")).append(System.lineSeparator());
+        endpoints.forEach(row -> summary.append(row.toRow()).append(System.lineSeparator()));
+        if (!steps.isEmpty()) {
+            summary.append(System.lineSeparator())
+                    .append("Latency per step (ms)").append(System.lineSeparator())
+                    .append(LatencySummary.header("Step")).append(System.lineSeparator());
+            steps.forEach(row -> summary.append(row.toRow()).append(System.lineSeparator()));
+        }
+        Map<String, Map<String, Long>> outcomes = OutcomeCounter.endpoints().snapshot();
+        if (!outcomes.isEmpty()) {
+            summary.append(System.lineSeparator())
+                    .append("Outcomes per endpoint").append(System.lineSeparator());
+            outcomes.forEach((endpoint, counts) -> counts.forEach((outcome, count) -> summary
+                    .append(String.format("%-60s %-20s %8d", endpoint, outcome, count))
+                    .append(System.lineSeparator())));
+        }
+        Files.write(directory.resolve("latency-summary.txt"), summary.toString().getBytes(StandardCharsets.UTF_8));
+        
+        List<String> outcomeCsv = new ArrayList<>();
+        outcomeCsv.add("endpoint,outcome,count");
+        outcomes.forEach((endpoint, counts) -> counts.forEach((outcome, count) ->
+                outcomeCsv.add(String.format("\"%s\",%s,%d", endpoint.replace("\"", "\"\""), outcome, count))));
+        Files.write(directory.resolve("outcomes.csv"), outcomeCsv, StandardCharsets.UTF_8);
+
+        List<String> csv = new ArrayList<>();
+        csv.add(CSV_HEADER);
+        endpoints.forEach(row -> csv.add(toCsv("endpoint", row)));
+        steps.forEach(row -> csv.add(toCsv("step", row)));
+        Files.write(directory.resolve("latency-summary.csv"), csv, StandardCharsets.UTF_8);
+
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("endpoint-latency.hgrm")),
+                false, StandardCharsets.UTF_8)) {
+            for (LatencySummary row : endpoints) {
+                Histogram histogram = LatencyRecorder.endpoints().snapshot(row.getName());
+                out.println("# " + row.getName() + " (values in ms)");
+                // Recorded in microseconds; scale so the distribution reads in milliseconds
+                histogram.outputPercentileDistribution(out, 1000.0);
+                out.println();
+            }
+        }
+    }
+
+    private static String toCsv(String type, LatencySummary row) {
+        return String.format(Locale.ROOT, "%s,\"%s\",%d,%.3f,%.3f,%.3f,%.3f,%.3f", type,
+                row.getName().replace("\"", "\"\""), row.getCount(), row.getMean(),
+                row.getP50(), row.getP95(), row.getP99(), row.getMax());
+    }
+}
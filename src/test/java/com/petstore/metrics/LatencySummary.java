@@ -0,0 +1,70 @@
+package com.petstore.metrics;
+
+/**
+ * Latency percentiles for one step or endpoint, in milliseconds
+ */
+public class LatencySummary {
+    private final String name;
+    private final long count;
+    private final double mean;
+    private final double p50;
+    private final double p95;
+    private final double p99;
+    private final double max;
+
+    public LatencySummary(String name, long count, double mean, double p50, double p95, double p99, double max) {
+        this.name = name;
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getP50() {
+        return p50;
+    }
+
+    public double getP95() {
+        return p95;
+    }
+
+    public double getP99() {
+        return p99;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Header line matching {@link #toRow()}
+     */
+    public static String header(String nameColumn) {
+        return String.format("%-60s %8s %10s %10s %10s %10s %10s",
+                nameColumn, "count", "mean", "p50", "p95", "p99", "max");
+    }
+
+    public String toRow() {
+        return String.format("%-60s %8d %10.2f %10.2f %10.2f %10.2f %10.2f", name, count, mean, p50, p95, p99, max);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, mean=%.2f ms, p50=%.2f ms, p95=%.2f ms, p99=%.2f ms, max=%.2f ms",
+                name, count, mean, p50, p95, p99, max);
+    }
+}
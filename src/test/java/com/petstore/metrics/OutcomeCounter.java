@@ -0,0 +1,56 @@
+package com.petstore.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts notable request outcomes, such as timeouts, per endpoint so they show up in the reports
+ * as their own category instead of as generic failures
+ */
+public class OutcomeCounter {
+    private static final OutcomeCounter ENDPOINTS = new OutcomeCounter();
+    
+    private final Map<String, Map<String, LongAdder>> counts = new ConcurrentHashMap<>();
+    
+    /**
+     * Outcomes of HTTP calls made through ApiClient, keyed by method and endpoint
+     */
+    public static OutcomeCounter endpoints() {
+        return ENDPOINTS;
+    }
+    
+    public void increment(String name, String outcome) {
+        add(name, outcome, 1);
+    }
+    
+    public void add(String name, String outcome, long count) {
+        counts.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(outcome, key -> new LongAdder())
+                .add(count);
+    }
+    
+    public long getCount(String name, String outcome) {
+        Map<String, LongAdder> outcomes = counts.get(name);
+        LongAdder count = outcomes == null ? null : outcomes.get(outcome);
+        return count == null ? 0 : count.sum();
+    }
+    
+    /**
+     * Counts per name and outcome, both sorted
+     */
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> snapshot = new TreeMap<>();
+        counts.forEach((name, outcomes) -> {
+            Map<String, Long> row = new TreeMap<>();
+            outcomes.forEach((outcome, count) -> row.put(outcome, count.sum()));
+            snapshot.put(name, row);
+        });
+        return snapshot;
+    }
+    
+    public void reset() {
+        counts.clear();
+    }
+}
@@ -0,0 +1,178 @@
+package com.petstore.reporting;
+
+import com.petstore.config.TestConfig;
+import com.petstore.logging.AsyncLogWriter;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cucumber plugin reporting how many scenarios actually ran concurrently, the
+ * speedup of the run compared to executing the same scenarios one after another,
+ * and throughput and peak RSS so platform and virtual thread runs can be compared
+ */
+public class ConcurrencyReportPlugin implements ConcurrentEventListener {
+    private static final String MODE_HISTORY_FILE = "execution-modes.csv";
+    private static final String MODE_HISTORY_HEADER = "timestamp,mode,concurrency,scenarios,wallClockMs,scenariosPerSecond,peakRssKb";
+
+    private final File reportFile;
+    private final AtomicInteger activeScenarios = new AtomicInteger();
+    private final AtomicInteger peakConcurrency = new AtomicInteger();
+    private final LongAdder scenarioNanos = new LongAdder();
+    private final LongAdder passed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong firstStartNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastFinishNanos = new AtomicLong(Long.MIN_VALUE);
+    private final Set<String> workerThreads = ConcurrentHashMap.newKeySet();
+    private volatile boolean ranOnVirtualThreads;
+
+    public ConcurrencyReportPlugin(File reportFile) {
+        this.reportFile = reportFile;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onScenarioStarted);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onScenarioFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> writeReport());
+    }
+
+    private void onScenarioStarted(TestCaseStarted event) {
+        firstStartNanos.accumulateAndGet(toNanos(event.getInstant()), Math::min);
+        workerThreads.add(Thread.currentThread().getName());
+        if (Thread.currentThread().isVirtual()) {
+            ranOnVirtualThreads = true;
+        }
+        peakConcurrency.accumulateAndGet(activeScenarios.incrementAndGet(), Math::max);
+    }
+
+    private void onScenarioFinished(TestCaseFinished event) {
+        activeScenarios.decrementAndGet();
+        lastFinishNanos.accumulateAndGet(toNanos(event.getInstant()), Math::max);
+        scenarioNanos.add(event.getResult().getDuration().toNanos());
+        if (event.getResult().getStatus() == Status.PASSED) {
+            passed.increment();
+        } else {
+            failed.increment();
+        }
+    }
+
+    private static long toNanos(Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private void writeReport() {
+        long scenarios = passed.sum() + failed.sum();
+        if (scenarios == 0) {
+            return;
+        }
+        TestConfig config = TestConfig.getInstance();
+        String mode;
+        int configuredConcurrency;
+        if (ranOnVirtualThreads) {
+            mode = "virtual";
+            configuredConcurrency = config.getVirtualThreadMaxConcurrency();
+        } else {
+            configuredConcurrency = config.getScenarioThreadCount();
+            mode = configuredConcurrency > 1 ? "parallel" : "serial";
+        }
+        Duration wallClock = Duration.ofNanos(lastFinishNanos.get() - firstStartNanos.get());
+        Duration serialEstimate = Duration.ofNanos(scenarioNanos.sum());
+        double speedup = wallClock.isZero() ? 1.0 : (double) serialEstimate.toNanos() / wallClock.toNanos();
+        double throughput = wallClock.isZero() ? 0.0 : scenarios * 1_000_000_000.0 / wallClock.toNanos();
+        long peakRssKb = readPeakRssKb();
+
+        String report = String.join(System.lineSeparator(),
+                "Scenario Concurrency Report",
+                "===========================",
+                String.format("Mode:                           %s", mode),
+                String.format("Configured max concurrency:     %d", configuredConcurrency),
+                String.format("Worker threads used:            %d", workerThreads.size()),
+                String.format("Peak concurrent scenarios:      %d", peakConcurrency.get()),
+                String.format("Scenarios:                      %d (passed %d, failed %d)", scenarios, passed.sum(), failed.sum()),
+                String.format("Wall clock time:                %d ms", wallClock.toMillis()),
+                String.format("Serial time (sum of scenarios): %d ms", serialEstimate.toMillis()),
+                String.format("Speedup vs serial:              %.2fx", speedup),
+                String.format("Throughput:                     %.2f scenarios/s", throughput),
+                String.format("Peak RSS:                       %s", peakRssKb < 0 ? "n/a" : (peakRssKb / 1024) + " MB"),
+                "");
+
+        File historyFile = new File(reportFile.getAbsoluteFile().getParentFile(), MODE_HISTORY_FILE);
+        String historyRow = String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.3f,%d",
+                Instant.now(), mode, configuredConcurrency, scenarios, wallClock.toMillis(), throughput, peakRssKb);
+        try {
+            Files.createDirectories(historyFile.getParentFile().toPath());
+            if (!historyFile.exists()) {
+                Files.write(historyFile.toPath(), List.of(MODE_HISTORY_HEADER), StandardCharsets.UTF_8);
+            }
+            Files.write(historyFile.toPath(), List.of(historyRow), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+            report = report + modeComparison(historyFile);
+            Files.write(reportFile.toPath(), report.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Error writing concurrency report: " + e.getMessage());
+        }
+        AsyncLogWriter.getInstance().write(report + System.lineSeparator());
+    }
+
+    /**
+     * Compare the most recent run of every execution mode recorded in the history file,
+     * e.g. a default run followed by mvn test -Pvirtual-threads
+     */
+    private static String modeComparison(File historyFile) throws IOException {
+        Map<String, String[]> latestByMode = new TreeMap<>();
+        for (String line : Files.readAllLines(historyFile.toPath(), StandardCharsets.UTF_8)) {
+            String[] columns = line.split(",");
+            if (columns.length == 7 && !line.equals(MODE_HISTORY_HEADER)) {
+                latestByMode.put(columns[1], columns);
+            }
+        }
+        StringBuilder comparison = new StringBuilder(System.lineSeparator())
+                .append("Execution Mode Comparison (latest run per mode)").append(System.lineSeparator())
+                .append(String.format("%-10s %12s %10s %12s %16s %10s%n",
+                        "Mode", "Concurrency", "Scenarios", "Wall (ms)", "Scenarios/s", "Peak RSS"));
+        for (String[] columns : latestByMode.values()) {
+            long rssKb = Long.parseLong(columns[6]);
+            comparison.append(String.format("%-10s %12s %10s %12s %16s %10s%n",
+                    columns[1], columns[2], columns[3], columns[4], columns[5],
+                    rssKb < 0 ? "n/a" : (rssKb / 1024) + " MB"));
+        }
+        return comparison.toString();
+    }
+
+    /**
+     * Peak resident set size of this JVM in KB (VmHWM), or -1 where /proc is not available
+     */
+    private static long readPeakRssKb() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.UTF_8)) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not on Linux; peak RSS is reported as n/a
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.petstore.reporting;
+
+import com.petstore.metrics.LatencyRecorder;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestStepFinished;
+
+/**
+ * Cucumber plugin recording the duration of every executed step, keyed by step pattern
+ * so that all invocations of the same step definition are aggregated
+ */
+public class StepLatencyPlugin implements ConcurrentEventListener {
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep step = (PickleStepTestStep) event.getTestStep();
+            LatencyRecorder.steps().record(step.getPattern(), event.getResult().getDuration().toNanos());
+        }
+    }
+}
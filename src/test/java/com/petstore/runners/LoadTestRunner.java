@@ -0,0 +1,124 @@
+package com.petstore.runners;
+
+import com.petstore.config.TestConfig;
+import com.petstore.load.LoadProfile;
+import com.petstore.load.LoadReport;
+import com.petstore.load.RateLimiter;
+import com.petstore.logging.AsyncLogWriter;
+import com.petstore.metrics.LatencyRecorder;
+import com.petstore.utils.ApiClient;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays the feature files as a load workload using the same step definitions and ApiClient
+ * as the functional suite. Virtual users loop over the selected scenarios until the configured
+ * duration has elapsed. Run with: mvn test -Pload
+ * <p>
+ * Settings: load.virtual.users, load.ramp.up.seconds, load.duration.seconds, load.target.rps
+ * and load.tags (Cucumber tag expression selecting the scenarios to replay).
+ */
+@CucumberOptions(
+        features = "src/test/resources/features",
+        glue = {"com.petstore.stepdefinitions", "com.petstore.hooks"},
+        plugin = {"com.petstore.reporting.StepLatencyPlugin"},
+        monochrome = true
+)
+public class LoadTestRunner {
+    
+    private TestNGCucumberRunner cucumberRunner;
+    
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        String tags = TestConfig.getInstance().getProperty("load.tags");
+        cucumberRunner = new TestNGCucumberRunner(this.getClass(), key ->
+                "cucumber.filter.tags".equals(key) && tags != null ? tags : context.getCurrentXmlTest().getParameter(key));
+    }
+    
+    @Test(description = "Replays the feature files as a load workload")
+    public void runLoad() throws InterruptedException, IOException {
+        LoadProfile profile = LoadProfile.fromConfig(TestConfig.getInstance());
+        List<Pickle> pickles = new ArrayList<>();
+        for (Object[] scenario : cucumberRunner.provideScenarios()) {
+            pickles.add(((PickleWrapper) scenario[0]).getPickle());
+        }
+        if (pickles.isEmpty()) {
+            throw new SkipException("No scenarios matched the load selection");
+        }
+        
+        ApiClient apiClient = ApiClient.getInstance();
+        if (profile.getTargetRps() > 0) {
+            apiClient.setRateLimiter(new RateLimiter(profile.getTargetRps()));
+        }
+        LatencyRecorder.endpoints().reset();
+        LatencyRecorder.steps().reset();
+        
+        LongAdder iterations = new LongAdder();
+        LongAdder failedIterations = new LongAdder();
+        AtomicInteger userNumber = new AtomicInteger();
+        ExecutorService users = Executors.newFixedThreadPool(profile.getVirtualUsers(),
+                runnable -> new Thread(runnable, "load-vu-" + userNumber.incrementAndGet()));
+        long start = System.nanoTime();
+        long deadline = start + profile.getDuration().toNanos();
+        try {
+            for (int user = 0; user < profile.getVirtualUsers(); user++) {
+                final int userIndex = user;
+                users.submit(() -> {
+                    try {
+                        Thread.sleep(profile.startDelay(userIndex).toMillis());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    // Each user starts at a different scenario so the mix is spread from the first second
+                    int next = userIndex;
+                    while (System.nanoTime() < deadline) {
+                        Pickle pickle = pickles.get(next++ % pickles.size());
+                        try {
+                            cucumberRunner.runScenario(pickle);
+                        } catch (Throwable t) {
+                            failedIterations.increment();
+                        }
+                        iterations.increment();
+                    }
+                });
+            }
+            users.shutdown();
+            users.awaitTermination(profile.getDuration().getSeconds()
+                    + TestConfig.getInstance().getTimeout() * 10L, TimeUnit.SECONDS);
+        } finally {
+            users.shutdownNow();
+            apiClient.setRateLimiter(null);
+        }
+        
+        LoadReport report = new LoadReport(profile, Duration.ofNanos(System.nanoTime() - start),
+                iterations.sum(), failedIterations.sum());
+        AsyncLogWriter.getInstance().write(report.render());
+        report.writeTo(Paths.get(TestConfig.getInstance().getReportsPath(), "load", "load-report.txt"));
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (cucumberRunner != null) {
+            cucumberRunner.finish();
+        }
+    }
+}
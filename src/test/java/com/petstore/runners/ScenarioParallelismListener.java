@@ -0,0 +1,22 @@
+package com.petstore.runners;
+
+import com.petstore.config.TestConfig;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sizes the TestNG data provider pool that runs Cucumber scenarios in parallel.
+ * The value comes from scenario.thread.count in config.properties or -Dscenario.thread.count.
+ */
+public class ScenarioParallelismListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threadCount = Math.max(1, TestConfig.getInstance().getScenarioThreadCount());
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(threadCount);
+        }
+    }
+}
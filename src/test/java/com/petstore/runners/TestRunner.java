@@ -2,6 +2,7 @@ package com.petstore.runners;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import org.testng.annotations.DataProvider;
 
 /**
  * TestNG runner for Cucumber tests
@@ -14,11 +15,20 @@ import io.cucumber.testng.CucumberOptions;
                 "html:target/cucumber-reports/html",
                 "json:target/cucumber-reports/json/cucumber.json",
                 "junit:target/cucumber-reports/xml/cucumber.xml",
-                "me.jvt.cucumber.report.PrettyReports:target/cucumber-reports/pretty"
+                "me.jvt.cucumber.report.PrettyReports:target/cucumber-reports/pretty",
+                "com.petstore.reporting.ConcurrencyReportPlugin:target/cucumber-reports/concurrency-report.txt"
         },
         monochrome = true,
         dryRun = false
 )
 public class TestRunner extends AbstractTestNGCucumberTests {
     
+    /**
+     * Run scenarios in parallel; the pool size is set by ScenarioParallelismListener
+     */
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        return super.scenarios();
+    }
 }
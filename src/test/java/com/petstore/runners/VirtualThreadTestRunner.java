@@ -0,0 +1,91 @@
+package com.petstore.runners;
+
+import com.petstore.config.TestConfig;
+import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.PickleWrapper;
+import io.cucumber.testng.TestNGCucumberRunner;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Opt-in runner that executes every Cucumber scenario on its own virtual thread.
+ * Blocking ApiClient calls park the virtual thread instead of a platform thread, so the
+ * number of concurrent scenarios is bounded by virtual.thread.max.concurrency rather than
+ * by a thread pool size. Run with: mvn test -Pvirtual-threads
+ */
+@CucumberOptions(
+        features = "src/test/resources/features",
+        glue = {"com.petstore.stepdefinitions", "com.petstore.hooks"},
+        plugin = {
+                "pretty",
+                "html:target/cucumber-reports/html",
+                "json:target/cucumber-reports/json/cucumber.json",
+                "junit:target/cucumber-reports/xml/cucumber.xml",
+                "me.jvt.cucumber.report.PrettyReports:target/cucumber-reports/pretty",
+                "com.petstore.reporting.ConcurrencyReportPlugin:target/cucumber-reports/concurrency-report.txt"
+        },
+        monochrome = true,
+        dryRun = false
+)
+public class VirtualThreadTestRunner {
+    
+    private TestNGCucumberRunner cucumberRunner;
+    
+    @BeforeClass(alwaysRun = true)
+    public void setUpClass(ITestContext context) {
+        cucumberRunner = new TestNGCucumberRunner(this.getClass(), context.getCurrentXmlTest()::getParameter);
+    }
+    
+    @Test(description = "Runs all Cucumber scenarios on virtual threads")
+    public void runScenariosOnVirtualThreads() {
+        Object[][] scenarios = cucumberRunner.provideScenarios();
+        Semaphore permits = new Semaphore(TestConfig.getInstance().getVirtualThreadMaxConcurrency());
+        ConcurrentLinkedQueue<Throwable> failed = new ConcurrentLinkedQueue<>();
+        AtomicInteger skipped = new AtomicInteger();
+        
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("scenario-vt-", 0).factory())) {
+            for (Object[] scenario : scenarios) {
+                PickleWrapper pickle = (PickleWrapper) scenario[0];
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        cucumberRunner.runScenario(pickle.getPickle());
+                    } catch (SkipException e) {
+                        skipped.incrementAndGet();
+                    } catch (Throwable t) {
+                        failed.add(t);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        
+        if (!failed.isEmpty()) {
+            AssertionError error = new AssertionError(String.format("%d of %d scenarios failed on virtual threads",
+                    failed.size(), scenarios.length), failed.peek());
+            failed.stream().skip(1).forEach(error::addSuppressed);
+            throw error;
+        }
+        if (skipped.get() == scenarios.length && scenarios.length > 0) {
+            throw new SkipException("All scenarios were skipped");
+        }
+    }
+    
+    @AfterClass(alwaysRun = true)
+    public void tearDownClass() {
+        if (cucumberRunner != null) {
+            cucumberRunner.finish();
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.petstore.stepdefinitions;
 
-import com.petstore.models.Category;
+import com.petstore.context.ScenarioContext;
+import com.petstore.context.StepPipeline;
+import com.petstore.logging.ScenarioLog;
 import com.petstore.models.Pet;
-import com.petstore.models.Tag;
 import com.petstore.utils.ApiClient;
+import com.petstore.utils.HealthCheckGate;
+import com.petstore.utils.ObjectMapperProvider;
+import com.petstore.utils.PetBatchProvisioner;
 import com.petstore.utils.ResponseValidator;
 import com.petstore.utils.TestDataGenerator;
+import com.petstore.utils.TestDataPool;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.When;
 import io.cucumber.java.en.Then;
@@ -15,27 +20,40 @@ import org.testng.Assert;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Step definitions for Pet management scenarios
+ * Step definitions for Pet management scenarios.
+ * PicoContainer creates a new instance for every scenario, so the pet and response state
+ * below is never shared between scenarios running in parallel.
  */
 public class PetStepDefinitions {
     
-    private ApiClient apiClient;
+    private final ApiClient apiClient;
+    private final ScenarioLog log;
+    private final StepPipeline pipeline;
     private Pet testPet;
     private Pet createdPet;
     private Response response;
     private Long nonExistentPetId = 999999999L;
+    private PetBatchProvisioner.Result provisioningResult;
+    private CompletableFuture<Response> pendingCreate;
     
-    public PetStepDefinitions() {
+    public PetStepDefinitions(ScenarioContext context) {
         this.apiClient = ApiClient.getInstance();
+        this.log = context.getLog();
+        this.pipeline = context.getPipeline();
     }
     
     @Given("the Petstore API is available")
     public void the_petstore_api_is_available() {
-        // Verify API is accessible by making a simple request
-        response = apiClient.get("/pet/findByStatus?status=available");
-        ResponseValidator.validateStatusCode(response, 200);
+        // Probed once for all scenarios; fails fast while the API is known to be down
+        HealthCheckGate gate = HealthCheckGate.getInstance();
+        if (pipeline.isEnabled()) {
+            pipeline.dispatch(gate::ensureAvailable);
+        } else {
+            gate.ensureAvailable();
+        }
     }
     
     @Given("I have valid pet data")
@@ -48,18 +66,14 @@ public class PetStepDefinitions {
     public void i_have_created_a_pet() {
         // Create and store a pet for testing
         testPet = createValidTestPet();
-        response = apiClient.post("/pet", testPet);
-        ResponseValidator.validateStatusCode(response, 200);
-        createdPet = response.as(Pet.class);
+        createPet(testPet);
     }
     
     @Given("I have created a pet with status {string}")
     public void i_have_created_a_pet_with_status(String status) {
         testPet = createValidTestPet();
         testPet.setStatus(status);
-        response = apiClient.post("/pet", testPet);
-        ResponseValidator.validateStatusCode(response, 200);
-        createdPet = response.as(Pet.class);
+        createPet(testPet);
     }
     
     @Given("I have created and deleted a pet")
@@ -68,7 +82,7 @@ public class PetStepDefinitions {
         testPet = createValidTestPet();
         response = apiClient.post("/pet", testPet);
         ResponseValidator.validateStatusCode(response, 200);
-        createdPet = response.as(Pet.class);
+        createdPet = ObjectMapperProvider.getInstance().read(response, Pet.class);
 
         // Verify the pet was created by retrieving it
         Map<String, Object> pathParams = new HashMap<>();
@@ -84,6 +98,12 @@ public class PetStepDefinitions {
             String.format("Expected status code 200 or 404 but got %d", statusCode));
     }
     
+    @Given("I have created {int} pets with status {string}")
+    public void i_have_created_pets_with_status(int count, String status) {
+        provisioningResult = new PetBatchProvisioner().createPets(count, status);
+        log.info("%s", provisioningResult);
+    }
+    
     @Given("I have a non-existent pet ID")
     public void i_have_a_non_existent_pet_id() {
         // Use a very large ID that shouldn't exist
@@ -100,11 +120,13 @@ public class PetStepDefinitions {
     
     @When("I create a new pet")
     public void i_create_a_new_pet() {
+        awaitGivenSteps();
         response = apiClient.post("/pet", testPet);
     }
     
     @When("I retrieve the pet by its ID")
     public void i_retrieve_the_pet_by_its_id() {
+        awaitGivenSteps();
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", createdPet.getId());
         response = apiClient.get("/pet/{petId}", pathParams);
@@ -112,6 +134,7 @@ public class PetStepDefinitions {
     
     @When("I try to retrieve the pet by its ID")
     public void i_try_to_retrieve_the_pet_by_its_id() {
+        awaitGivenSteps();
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", nonExistentPetId);
         response = apiClient.get("/pet/{petId}", pathParams);
@@ -119,6 +142,7 @@ public class PetStepDefinitions {
 
     @When("I retrieve the pet by its ID immediately")
     public void i_retrieve_the_pet_by_its_id_immediately() {
+        awaitGivenSteps();
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", createdPet.getId());
         response = apiClient.get("/pet/{petId}", pathParams);
@@ -126,6 +150,7 @@ public class PetStepDefinitions {
     
     @When("I try to retrieve the deleted pet")
     public void i_try_to_retrieve_the_deleted_pet() {
+        awaitGivenSteps();
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", createdPet.getId());
         response = apiClient.get("/pet/{petId}", pathParams);
@@ -133,23 +158,33 @@ public class PetStepDefinitions {
     
     @When("I update the pet status to {string}")
     public void i_update_the_pet_status_to(String newStatus) {
+        awaitGivenSteps();
         createdPet.setStatus(newStatus);
         response = apiClient.put("/pet", createdPet);
     }
     
     @When("I update the pet name to {string}")
     public void i_update_the_pet_name_to(String newName) {
+        awaitGivenSteps();
         createdPet.setName(newName);
         response = apiClient.put("/pet", createdPet);
     }
     
+    @When("I find pets by status {string}")
+    public void i_find_pets_by_status(String status) {
+        awaitGivenSteps();
+        response = apiClient.get("/pet/findByStatus?status=" + status);
+    }
+    
     @When("I try to create a new pet")
     public void i_try_to_create_a_new_pet() {
+        awaitGivenSteps();
         response = apiClient.post("/pet", testPet);
     }
     
     @When("I try to update the pet status")
     public void i_try_to_update_the_pet_status() {
+        awaitGivenSteps();
         Pet nonExistentPet = new Pet();
         nonExistentPet.setId(nonExistentPetId);
         nonExistentPet.setName("Non-existent Pet");
@@ -160,6 +195,7 @@ public class PetStepDefinitions {
     
     @When("I delete the pet")
     public void i_delete_the_pet() {
+        awaitGivenSteps();
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", createdPet.getId());
         response = apiClient.delete("/pet/{petId}", pathParams);
@@ -167,6 +203,7 @@ public class PetStepDefinitions {
 
     @When("I delete the pet immediately")
     public void i_delete_the_pet_immediately() {
+        awaitGivenSteps();
         // Use the pet that was just created in the previous step
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", createdPet.getId());
@@ -175,6 +212,7 @@ public class PetStepDefinitions {
     
     @When("I try to delete the pet")
     public void i_try_to_delete_the_pet() {
+        awaitGivenSteps();
         Map<String, Object> pathParams = new HashMap<>();
         pathParams.put("petId", nonExistentPetId);
         response = apiClient.delete("/pet/{petId}", pathParams);
@@ -183,10 +221,18 @@ public class PetStepDefinitions {
     @Then("the pet should be created successfully")
     public void the_pet_should_be_created_successfully() {
         ResponseValidator.validateStatusCode(response, 200);
-        createdPet = response.as(Pet.class);
+        createdPet = ObjectMapperProvider.getInstance().read(response, Pet.class);
         Assert.assertNotNull(createdPet.getId(), "Created pet should have an ID");
     }
     
+    @Then("all {int} pets should be created successfully")
+    public void all_pets_should_be_created_successfully(int count) {
+        Assert.assertEquals(provisioningResult.getCreatedIds().size(), count,
+            String.format("Expected %d pets to be created. %s", count, provisioningResult));
+        Assert.assertEquals(provisioningResult.getCreatedIds().stream().distinct().count(), (long) count,
+            "Every created pet should have its own ID");
+    }
+    
     @Then("the response should contain the pet details")
     public void the_response_should_contain_the_pet_details() {
         ResponseValidator.validateFieldExists(response, "id");
@@ -206,12 +252,23 @@ public class PetStepDefinitions {
     
     @Then("the pet data should match the created pet")
     public void the_pet_data_should_match_the_created_pet() {
-        Pet retrievedPet = response.as(Pet.class);
+        Pet retrievedPet = ObjectMapperProvider.getInstance().read(response, Pet.class);
         Assert.assertEquals(retrievedPet.getId(), createdPet.getId(), "Pet ID should match");
         Assert.assertEquals(retrievedPet.getName(), createdPet.getName(), "Pet name should match");
         Assert.assertEquals(retrievedPet.getStatus(), createdPet.getStatus(), "Pet status should match");
     }
     
+    @Then("the returned pet list should not be empty")
+    public void the_returned_pet_list_should_not_be_empty() {
+        ResponseValidator.validateStatusCode(response, 200);
+        ResponseValidator.validateArrayNotEmptyStreaming(response, "$");
+    }
+    
+    @Then("every returned pet should have status {string}")
+    public void every_returned_pet_should_have_status(String status) {
+        ResponseValidator.validateEveryElementFieldValue(response, "$", "status", status);
+    }
+    
     @Then("the pet status should be updated successfully")
     public void the_pet_status_should_be_updated_successfully() {
         ResponseValidator.validateStatusCode(response, 200);
@@ -268,9 +325,9 @@ public class PetStepDefinitions {
             String.format("Response should be a valid HTTP status code, got %d", statusCode));
 
         // Log the response for demonstration purposes
-        System.out.println("Delete operation response:");
-        System.out.println("Status Code: " + statusCode);
-        System.out.println("Response Body: " + response.getBody().asString());
+        log.info("Delete operation response:");
+        log.info("Status Code: %d", statusCode);
+        log.body("Response Body", response.getBody().asString());
     }
 
     @Then("the API should handle the request appropriately")
@@ -281,12 +338,12 @@ public class PetStepDefinitions {
             String.format("API should return 200 or 404, got %d. Response: %s",
                 statusCode, response.getBody().asString()));
 
-        System.out.println("API Response for non-existent pet retrieval:");
-        System.out.println("Status Code: " + statusCode);
-        System.out.println("Response Body: " + response.getBody().asString());
+        log.info("API Response for non-existent pet retrieval:");
+        log.info("Status Code: %d", statusCode);
+        log.body("Response Body", response.getBody().asString());
 
         if (statusCode == 200) {
-            System.out.println("Note: Demo API created the pet instead of returning 404 (typical demo behavior)");
+            log.info("Note: Demo API created the pet instead of returning 404 (typical demo behavior)");
         }
     }
 
@@ -296,10 +353,10 @@ public class PetStepDefinitions {
         ResponseValidator.validateStatusCode(response, 200);
         ResponseValidator.validateFieldExists(response, "id");
 
-        System.out.println("API Response for minimal pet data:");
-        System.out.println("Status Code: " + response.getStatusCode());
-        System.out.println("Response Body: " + response.getBody().asString());
-        System.out.println("Note: Demo API accepted minimal data and created pet (typical demo behavior)");
+        log.info("API Response for minimal pet data:");
+        log.info("Status Code: %d", response.getStatusCode());
+        log.body("Response Body", response.getBody().asString());
+        log.info("Note: Demo API accepted minimal data and created pet (typical demo behavior)");
     }
 
     @Then("the API should handle the update request appropriately")
@@ -310,12 +367,12 @@ public class PetStepDefinitions {
             String.format("API should return 200 or 404, got %d. Response: %s",
                 statusCode, response.getBody().asString()));
 
-        System.out.println("API Response for non-existent pet update:");
-        System.out.println("Status Code: " + statusCode);
-        System.out.println("Response Body: " + response.getBody().asString());
+        log.info("API Response for non-existent pet update:");
+        log.info("Status Code: %d", statusCode);
+        log.body("Response Body", response.getBody().asString());
 
         if (statusCode == 200) {
-            System.out.println("Note: Demo API created the pet instead of returning 404 (typical demo behavior)");
+            log.info("Note: Demo API created the pet instead of returning 404 (typical demo behavior)");
         }
     }
 
@@ -327,12 +384,12 @@ public class PetStepDefinitions {
             String.format("API should return 200 or 404, got %d. Response: %s",
                 statusCode, response.getBody().asString()));
 
-        System.out.println("API Response for non-existent pet deletion:");
-        System.out.println("Status Code: " + statusCode);
-        System.out.println("Response Body: " + response.getBody().asString());
+        log.info("API Response for non-existent pet deletion:");
+        log.info("Status Code: %d", statusCode);
+        log.body("Response Body", response.getBody().asString());
 
         if (statusCode == 200) {
-            System.out.println("Note: Demo API returned 200 for non-existent pet deletion (typical demo behavior)");
+            log.info("Note: Demo API returned 200 for non-existent pet deletion (typical demo behavior)");
         }
     }
 
@@ -345,42 +402,53 @@ public class PetStepDefinitions {
             // Pet was found - validate the response
             ResponseValidator.validateFieldExists(response, "id");
             ResponseValidator.validateFieldExists(response, "name");
-            System.out.println("Pet retrieved successfully immediately after creation");
+            log.info("Pet retrieved successfully immediately after creation");
         } else if (statusCode == 404) {
             // Pet was cleaned up by demo API - this is acceptable behavior
-            System.out.println("Pet was cleaned up by demo API (typical demo behavior)");
+            log.info("Pet was cleaned up by demo API (typical demo behavior)");
         } else {
             Assert.fail(String.format("Expected status code 200 or 404 but got %d. Response: %s",
                 statusCode, response.getBody().asString()));
         }
 
-        System.out.println("API Response for immediate pet retrieval:");
-        System.out.println("Status Code: " + statusCode);
-        System.out.println("Response Body: " + response.getBody().asString());
+        log.info("API Response for immediate pet retrieval:");
+        log.info("Status Code: %d", statusCode);
+        log.body("Response Body", response.getBody().asString());
+    }
+    
+    /**
+     * Create the pet; with scenario pipelining the request is only dispatched and joined by the next When step
+     */
+    private void createPet(Pet pet) {
+        if (pipeline.isEnabled()) {
+            pendingCreate = pipeline.dispatch(apiClient.postAsync("/pet", pet));
+            return;
+        }
+        response = apiClient.post("/pet", pet);
+        ResponseValidator.validateStatusCode(response, 200);
+        createdPet = ObjectMapperProvider.getInstance().read(response, Pet.class);
+    }
+    
+    /**
+     * Wait for the requests pipelined Given steps left running; every When step depends on their outcome
+     */
+    private void awaitGivenSteps() {
+        if (!pipeline.hasPending()) {
+            return;
+        }
+        pipeline.awaitAll();
+        if (pendingCreate != null) {
+            response = pendingCreate.join();
+            pendingCreate = null;
+            ResponseValidator.validateStatusCode(response, 200);
+            createdPet = ObjectMapperProvider.getInstance().read(response, Pet.class);
+        }
     }
     
     /**
-     * Helper method to create a valid test pet
+     * Helper method to create a valid test pet from the pre-generated data pool
      */
     private Pet createValidTestPet() {
-        Pet pet = new Pet();
-        pet.setId(TestDataGenerator.generatePetId());
-        pet.setName(TestDataGenerator.generatePetName());
-        pet.setStatus(TestDataGenerator.generatePetStatus());
-        pet.setPhotoUrls(Arrays.asList("http://example.com/photo1.jpg", "http://example.com/photo2.jpg"));
-        
-        // Add category
-        Category category = new Category();
-        category.setId(1L);
-        category.setName(TestDataGenerator.generateCategoryName());
-        pet.setCategory(category);
-        
-        // Add tags
-        Tag tag = new Tag();
-        tag.setId(1L);
-        tag.setName(TestDataGenerator.generateTagName());
-        pet.setTags(Arrays.asList(tag));
-        
-        return pet;
+        return TestDataPool.getInstance().nextPet();
     }
 }
@@ -0,0 +1,176 @@
+package com.petstore.stepdefinitions;
+
+import com.petstore.config.TestConfig;
+import com.petstore.context.ScenarioContext;
+import com.petstore.context.StepPipeline;
+import com.petstore.logging.ScenarioLog;
+import com.petstore.metrics.OutcomeCounter;
+import com.petstore.models.Order;
+import com.petstore.models.Pet;
+import com.petstore.utils.ApiClient;
+import com.petstore.utils.ConcurrentOrderRunner;
+import com.petstore.utils.ObjectMapperProvider;
+import com.petstore.utils.ResponseValidator;
+import com.petstore.utils.StoreClient;
+import com.petstore.utils.TestDataPool;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+
+import java.util.Map;
+
+/**
+ * Step definitions for store order and inventory scenarios.
+ * PicoContainer creates a new instance for every scenario, so the state below is never shared
+ * between scenarios running in parallel.
+ */
+public class StoreStepDefinitions {
+
+    private final ApiClient apiClient;
+    private final StoreClient storeClient;
+    private final ScenarioLog log;
+    private final StepPipeline pipeline;
+    private Pet pet;
+    private Order placedOrder;
+    private Response response;
+    private ConcurrentOrderRunner.Result contention;
+
+    public StoreStepDefinitions(ScenarioContext context) {
+        this.apiClient = ApiClient.getInstance();
+        this.storeClient = new StoreClient(apiClient);
+        this.log = context.getLog();
+        this.pipeline = context.getPipeline();
+    }
+
+    @Given("a pet is available for purchase")
+    public void a_pet_is_available_for_purchase() {
+        Pet available = TestDataPool.getInstance().nextPet();
+        available.setStatus("available");
+        Response created = apiClient.post("/pet", available);
+        ResponseValidator.validateStatusCode(created, 200);
+        pet = ObjectMapperProvider.getInstance().read(created, Pet.class);
+    }
+
+    @Given("I have placed an order for the pet")
+    public void i_have_placed_an_order_for_the_pet() {
+        response = storeClient.placeOrder(newOrder());
+        ResponseValidator.validateStatusCode(response, 200);
+        placedOrder = StoreClient.orderOf(response);
+    }
+
+    @When("I place an order for the pet")
+    public void i_place_an_order_for_the_pet() {
+        awaitGivenSteps();
+        response = storeClient.placeOrder(newOrder());
+    }
+
+    @When("I retrieve the order by its ID")
+    public void i_retrieve_the_order_by_its_id() {
+        awaitGivenSteps();
+        response = storeClient.getOrder(placedOrder.getId());
+    }
+
+    @When("I delete the order")
+    public void i_delete_the_order() {
+        awaitGivenSteps();
+        response = storeClient.deleteOrder(placedOrder.getId());
+    }
+
+    @When("I retrieve the store inventory")
+    public void i_retrieve_the_store_inventory() {
+        awaitGivenSteps();
+        response = storeClient.getInventory();
+    }
+
+    @When("{int} buyers order the pet at the same time")
+    public void buyers_order_the_pet_at_the_same_time(int buyers) {
+        awaitGivenSteps();
+        contention = new ConcurrentOrderRunner(storeClient).orderSamePet(pet.getId(), buyers);
+        log.info("%s", contention);
+    }
+
+    @Then("the order should be placed successfully")
+    public void the_order_should_be_placed_successfully() {
+        ResponseValidator.validateStatusCode(response, 200);
+        placedOrder = StoreClient.orderOf(response);
+        Assert.assertNotNull(placedOrder.getId(), "Placed order should have an ID");
+        Assert.assertEquals(placedOrder.getPetId(), pet.getId(), "Order should be for the pet");
+    }
+
+    @Then("the order details should match the placed order")
+    public void the_order_details_should_match_the_placed_order() {
+        ResponseValidator.validateStatusCode(response, 200);
+        Order retrieved = StoreClient.orderOf(response);
+        Assert.assertEquals(retrieved.getId(), placedOrder.getId(), "Order ID should match");
+        Assert.assertEquals(retrieved.getPetId(), placedOrder.getPetId(), "Order pet ID should match");
+        Assert.assertEquals(retrieved.getQuantity(), placedOrder.getQuantity(), "Order quantity should match");
+        Assert.assertEquals(retrieved.getStatus(), placedOrder.getStatus(), "Order status should match");
+    }
+
+    @Then("the order should be deleted successfully")
+    public void the_order_should_be_deleted_successfully() {
+        ResponseValidator.validateStatusCode(response, 200);
+    }
+
+    @Then("the order should no longer be found")
+    public void the_order_should_no_longer_be_found() {
+        ResponseValidator.validateStatusCode(storeClient.getOrder(placedOrder.getId()), 404);
+    }
+
+    @Then("the inventory should list a count for status {string}")
+    public void the_inventory_should_list_a_count_for_status(String status) {
+        ResponseValidator.validateStatusCode(response, 200);
+        Map<String, Integer> inventory = StoreClient.inventoryOf(response);
+        Assert.assertTrue(inventory.containsKey(status),
+            String.format("Inventory should have a count for status '%s': %s", status, inventory));
+        Assert.assertTrue(inventory.get(status) > 0,
+            String.format("Inventory should count at least one '%s' pet: %s", status, inventory));
+    }
+
+    @Then("at least one buyer's order should be accepted")
+    public void at_least_one_buyers_order_should_be_accepted() {
+        Assert.assertFalse(contention.getAcceptedOrders().isEmpty(),
+            String.format("No order was accepted. %s", contention));
+    }
+
+    @Then("no accepted order should be lost")
+    public void no_accepted_order_should_be_lost() {
+        Assert.assertTrue(contention.getLostUpdates().isEmpty(),
+            String.format("Accepted orders were not stored as placed: %s. %s", contention.getLostUpdates(), contention));
+    }
+
+    @Then("the pet should not be oversold")
+    public void the_pet_should_not_be_oversold() {
+        int oversold = contention.getOversold();
+        if (oversold > 0) {
+            OutcomeCounter.endpoints().add("POST /store/order", "oversold", oversold);
+            log.info("Pet %d was sold %d times: %d orders oversold it",
+                contention.getPetId(), contention.getAcceptedOrders().size(), oversold);
+        }
+        if (!TestConfig.getInstance().isStoreReservingStock()) {
+            // Nothing to check against a server that accepts every order; the overselling is only recorded
+            throw new SkipException(String.format("The server does not reserve stock (store.reserves.stock=false); "
+                + "%d oversold orders recorded", oversold));
+        }
+        Assert.assertEquals(oversold, 0,
+            String.format("Pet %d was sold more than once. %s", contention.getPetId(), contention));
+    }
+
+    private Order newOrder() {
+        Order order = TestDataPool.getInstance().nextOrder(pet.getId());
+        order.setStatus("placed");
+        return order;
+    }
+
+    /**
+     * Wait for the requests pipelined Background steps left running
+     */
+    private void awaitGivenSteps() {
+        if (pipeline.hasPending()) {
+            pipeline.awaitAll();
+        }
+    }
+}
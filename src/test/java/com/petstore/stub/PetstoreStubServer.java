@@ -0,0 +1,399 @@
+package com.petstore.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.config.TestConfig;
+import com.petstore.logging.AsyncLogWriter;
+import com.petstore.models.Order;
+import com.petstore.models.Pet;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory implementation of the Petstore API served from inside the test JVM.
+ * It binds to a random loopback port and mirrors the public demo server's responses
+ * for the pet and store endpoints, so the suite can run offline and without network latency.
+ * Unlike the demo server it keeps stock: an available pet can be ordered once, after which it is sold.
+ * Select it with base.url=stub (see TestConfig#getBaseUrl).
+ */
+public class PetstoreStubServer {
+    public static final String BASE_URL_KEY = "stub";
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int NO_BODY = -1;
+    private static final int MIN_GZIP_BYTES = 1024;
+    
+    private final String basePath;
+    private final Map<Long, Pet> pets = new ConcurrentHashMap<>();
+    private final Map<Long, Order> orders = new ConcurrentHashMap<>();
+    private final AtomicLong idSequence = new AtomicLong(System.currentTimeMillis());
+    private HttpServer server;
+    private ExecutorService executor;
+    
+    /**
+     * @param basePath path prefix the API is served under, e.g. "/v2"
+     */
+    public PetstoreStubServer(String basePath) {
+        this.basePath = basePath;
+    }
+    
+    /**
+     * Shared server started on first use and stopped when the JVM exits
+     */
+    private static class Holder {
+        private static final PetstoreStubServer INSTANCE = startShared();
+        
+        private static PetstoreStubServer startShared() {
+            PetstoreStubServer stub = new PetstoreStubServer("/" + TestConfig.getInstance().getApiVersion());
+            stub.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(stub::stop, "petstore-stub-shutdown"));
+            return stub;
+        }
+    }
+    
+    public static PetstoreStubServer getShared() {
+        return Holder.INSTANCE;
+    }
+    
+    public synchronized void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start Petstore stub server", e);
+        }
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(basePath + "/pet", this::handlePet);
+        server.createContext(basePath + "/store", this::handleStore);
+        server.start();
+        AsyncLogWriter.getInstance().write("Petstore stub server listening on " + getBaseUrl() + basePath
+                + System.lineSeparator());
+    }
+    
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+    
+    /**
+     * Scheme, host and port of the running server, without the API base path
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+    
+    private void handlePet(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                routePet(exchange);
+            } catch (RuntimeException e) {
+                sendMessage(exchange, 500, "unknown", "something bad happened");
+            }
+        }
+    }
+    
+    private void routePet(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = pathSegments(exchange, "/pet");
+        
+        if (path.length == 0) {
+            if ("POST".equals(method) || "PUT".equals(method)) {
+                Pet pet = readBody(exchange, Pet.class);
+                if (pet == null) {
+                    sendMessage(exchange, 405, "unknown", "Invalid input");
+                    return;
+                }
+                if (pet.getId() == null || pet.getId() == 0) {
+                    pet.setId(idSequence.incrementAndGet());
+                }
+                // Like the demo server, updating an unknown pet creates it
+                pets.put(pet.getId(), pet);
+                sendJson(exchange, 200, pet);
+            } else {
+                sendStatus(exchange, 405);
+            }
+        } else if (path.length == 1 && "findByStatus".equals(path[0])) {
+            if (!"GET".equals(method)) {
+                sendStatus(exchange, 405);
+                return;
+            }
+            Set<String> statuses = queryValues(exchange, "status");
+            List<Pet> matches = new ArrayList<>();
+            for (Pet pet : pets.values()) {
+                if (statuses.contains(pet.getStatus())) {
+                    matches.add(pet);
+                }
+            }
+            sendJson(exchange, 200, matches);
+        } else if (path.length == 1) {
+            Long petId = parseId(path[0]);
+            if (petId == null) {
+                sendMessage(exchange, 404, "unknown", "java.lang.NumberFormatException: For input string: \"" + path[0] + "\"");
+                return;
+            }
+            switch (method) {
+                case "GET":
+                    Pet pet = pets.get(petId);
+                    if (pet == null) {
+                        sendMessage(exchange, 404, "error", "Pet not found");
+                    } else {
+                        sendJson(exchange, 200, pet);
+                    }
+                    break;
+                case "DELETE":
+                    if (pets.remove(petId) == null) {
+                        sendStatus(exchange, 404);
+                    } else {
+                        sendMessage(exchange, 200, "unknown", String.valueOf(petId));
+                    }
+                    break;
+                case "POST":
+                    updateWithForm(exchange, petId);
+                    break;
+                default:
+                    sendStatus(exchange, 405);
+            }
+        } else {
+            sendStatus(exchange, 404);
+        }
+    }
+    
+    private void updateWithForm(HttpExchange exchange, long petId) throws IOException {
+        Pet pet = pets.get(petId);
+        if (pet == null) {
+            sendMessage(exchange, 404, "error", "not found");
+            return;
+        }
+        String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> fields = parseParameters(form);
+        if (fields.containsKey("name")) {
+            pet.setName(fields.get("name"));
+        }
+        if (fields.containsKey("status")) {
+            pet.setStatus(fields.get("status"));
+        }
+        sendMessage(exchange, 200, "unknown", String.valueOf(petId));
+    }
+    
+    private void handleStore(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                routeStore(exchange);
+            } catch (RuntimeException e) {
+                sendMessage(exchange, 500, "unknown", "something bad happened");
+            }
+        }
+    }
+    
+    private void routeStore(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] path = pathSegments(exchange, "/store");
+        
+        if (path.length == 1 && "inventory".equals(path[0]) && "GET".equals(method)) {
+            Map<String, Integer> inventory = new LinkedHashMap<>();
+            for (Pet pet : pets.values()) {
+                if (pet.getStatus() != null) {
+                    inventory.merge(pet.getStatus(), 1, Integer::sum);
+                }
+            }
+            sendJson(exchange, 200, inventory);
+        } else if (path.length == 1 && "order".equals(path[0])) {
+            if (!"POST".equals(method)) {
+                sendStatus(exchange, 405);
+                return;
+            }
+            Order order = readBody(exchange, Order.class);
+            if (order == null) {
+                sendMessage(exchange, 400, "unknown", "Invalid Order");
+                return;
+            }
+            if (!sellPet(order.getPetId())) {
+                sendMessage(exchange, 400, "unknown", "Pet " + order.getPetId() + " is not available");
+                return;
+            }
+            if (order.getId() == null || order.getId() == 0) {
+                order.setId(idSequence.incrementAndGet());
+            }
+            if (order.getComplete() == null) {
+                order.setComplete(false);
+            }
+            orders.put(order.getId(), order);
+            sendJson(exchange, 200, order);
+        } else if (path.length == 2 && "order".equals(path[0])) {
+            Long orderId = parseId(path[1]);
+            if (orderId == null) {
+                sendMessage(exchange, 404, "unknown", "java.lang.NumberFormatException: For input string: \"" + path[1] + "\"");
+                return;
+            }
+            switch (method) {
+                case "GET":
+                    Order order = orders.get(orderId);
+                    if (order == null) {
+                        sendMessage(exchange, 404, "error", "Order not found");
+                    } else {
+                        sendJson(exchange, 200, order);
+                    }
+                    break;
+                case "DELETE":
+                    if (orders.remove(orderId) == null) {
+                        sendMessage(exchange, 404, "unknown", "Order Not Found");
+                    } else {
+                        sendMessage(exchange, 200, "unknown", String.valueOf(orderId));
+                    }
+                    break;
+                default:
+                    sendStatus(exchange, 405);
+            }
+        } else {
+            sendStatus(exchange, 404);
+        }
+    }
+    
+    /**
+     * Take a pet the stub knows out of stock: each available pet is a single item, sold to the first order
+     * and marked sold, so concurrent orders for it cannot all succeed. Orders for pets the stub does not know
+     * are accepted like the demo server accepts every order.
+     */
+    private boolean sellPet(Long petId) {
+        if (petId == null) {
+            return true;
+        }
+        boolean[] sold = {true};
+        pets.computeIfPresent(petId, (id, pet) -> {
+            if ("available".equals(pet.getStatus())) {
+                pet.setStatus("sold");
+            } else {
+                sold[0] = false;
+            }
+            return pet;
+        });
+        return sold[0];
+    }
+    
+    /**
+     * Path segments after the given resource, e.g. "/v2/pet/42" with "/pet" gives ["42"]
+     */
+    private String[] pathSegments(HttpExchange exchange, String resource) {
+        String path = exchange.getRequestURI().getPath().substring((basePath + resource).length());
+        return Arrays.stream(path.split("/")).filter(segment -> !segment.isEmpty()).toArray(String[]::new);
+    }
+    
+    private static Set<String> queryValues(HttpExchange exchange, String name) {
+        Set<String> values = new HashSet<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return values;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0 && name.equals(decode(pair.substring(0, separator)))) {
+                // Both status=a,b and status=a&status=b are accepted
+                values.addAll(Arrays.asList(decode(pair.substring(separator + 1)).split(",")));
+            }
+        }
+        return values;
+    }
+    
+    private static Map<String, String> parseParameters(String encoded) {
+        Map<String, String> parameters = new LinkedHashMap<>();
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(decode(pair.substring(0, separator)), decode(pair.substring(separator + 1)));
+            }
+        }
+        return parameters;
+    }
+    
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+    
+    private static Long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Deserialize the request body, or return null when it is missing or not valid JSON
+     */
+    private static <T> T readBody(HttpExchange exchange, Class<T> type) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readAllBytes();
+            return bytes.length == 0 ? null : MAPPER.readValue(bytes, type);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+    
+    private static void sendMessage(HttpExchange exchange, int status, String type, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("code", status == 404 && "error".equals(type) ? 1 : status);
+        body.put("type", type);
+        body.put("message", message);
+        sendJson(exchange, status, body);
+    }
+    
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        if (status == 200 && "GET".equals(exchange.getRequestMethod())) {
+            // Content-derived ETag so clients can revalidate with If-None-Match
+            String etag = "\"" + Integer.toHexString(Arrays.hashCode(bytes)) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                sendStatus(exchange, 304);
+                return;
+            }
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (bytes.length >= MIN_GZIP_BYTES && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            // Like the demo server, compress larger bodies for clients that accept it
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    
+    private static void sendStatus(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, NO_BODY);
+    }
+}
+
@@ -1,52 +1,349 @@
 package com.petstore.utils;
 
+import com.petstore.cleanup.CreatedResources;
 import com.petstore.config.TestConfig;
+import com.petstore.http.AsyncHttpTransport;
+import com.petstore.http.CompressionStats;
+import com.petstore.http.ConnectionPoolStats;
+import com.petstore.http.ConnectionReleaseFilter;
+import com.petstore.http.PooledHttpClientFactory;
+import com.petstore.http.RequestDeadline;
+import com.petstore.http.RequestTimeoutException;
+import com.petstore.http.ResponseDecoder;
+import com.petstore.http.ResponseCache;
+import com.petstore.http.ResponseCacheStats;
+import com.petstore.http.RetryPolicy;
+import com.petstore.load.RateLimiter;
+import com.petstore.metrics.LatencyRecorder;
+import com.petstore.metrics.OutcomeCounter;
 import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.LogConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * API Client utility class for making HTTP requests to Petstore API
  */
 public class ApiClient {
-    private static ApiClient instance;
+    /**
+     * Create endpoints and the endpoint that deletes what they create, used to register resources for cleanup
+     */
+    private static final Map<String, String> DELETE_ENDPOINTS = Map.of(
+            "/pet", "/pet/{petId}",
+            "/store/order", "/store/order/{orderId}");
+    
     private final TestConfig config;
+    private final PooledHttpClientFactory httpClientFactory;
+    private final ResponseDecoder responseDecoder;
+    private final RestAssuredConfig restAssuredConfig;
+    private final RequestSpecification jsonSpec;
+    private final RequestSpecification multipartSpec;
+    private final Semaphore connectionPermits;
+    private final AsyncHttpTransport asyncTransport;
+    private final ResponseCache responseCache;
+    private final RetryPolicy retryPolicy;
+    private final boolean trackCreatedResources;
+    private final boolean http2;
+    private volatile RateLimiter rateLimiter;
     
     private ApiClient() {
         this.config = TestConfig.getInstance();
-        setupRestAssured();
+        this.responseDecoder = ResponseDecoder.fromConfig(config);
+        this.httpClientFactory = new PooledHttpClientFactory(config, responseDecoder);
+        // This client is shared by every Cucumber run in the JVM and cannot be reopened, so the pooled
+        // connections are closed when the JVM exits rather than after one run's @AfterAll hooks
+        Runtime.getRuntime().addShutdownHook(new Thread(httpClientFactory::shutdown, "http-pool-shutdown"));
+        ObjectMapperProvider objectMapperProvider = ObjectMapperProvider.getInstance();
+        // Share one pooled, keep-alive client across all requests instead of a new client per request.
+        // Compression is negotiated and decoded by the client itself, so REST Assured's decoders are turned off.
+        this.restAssuredConfig = RestAssuredConfig.config()
+                .httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(httpClientFactory)
+                        .reuseHttpClientInstance())
+                .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders())
+                .objectMapperConfig(objectMapperProvider.objectMapperConfig())
+                .logConfig(LogConfig.logConfig().enableLoggingOfRequestAndResponseIfValidationFails());
+        this.jsonSpec = baseSpecBuilder()
+                .setContentType(ContentType.JSON)
+                .build();
+        this.multipartSpec = baseSpecBuilder().build();
+        this.connectionPermits = new Semaphore(Math.min(config.getPoolMaxTotal(), config.getPoolMaxPerRoute()), true);
+        HttpClient.Version httpVersion = HttpClient.Version.valueOf(config.getHttpVersion());
+        this.http2 = httpVersion == HttpClient.Version.HTTP_2;
+        this.asyncTransport = new AsyncHttpTransport(config.getFullApiUrl(),
+                Duration.ofSeconds(config.getTimeout()), config.getAsyncMaxInFlight(), httpVersion,
+                objectMapperProvider.writer(), responseDecoder);
+        this.retryPolicy = RetryPolicy.fromConfig(config);
+        this.trackCreatedResources = config.isCleanupEnabled();
+        this.responseCache = config.isHttpCacheEnabled()
+                ? new ResponseCache(config.getHttpCacheTtl(), TimeUnit.SECONDS, config.getHttpCacheMaxEntries(),
+                        ResponseCache.parseDependencies(config.getHttpCacheDependencies()))
+                : null;
+    }
+    
+    /**
+     * Lazily created on first use; the holder class makes initialisation thread-safe without locking
+     */
+    private static class Holder {
+        private static final ApiClient INSTANCE = new ApiClient();
     }
     
     public static ApiClient getInstance() {
-        if (instance == null) {
-            instance = new ApiClient();
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Build the settings shared by every request. Specifications are built once and only read afterwards,
+     * so no global RestAssured state is touched and parallel threads never race on it.
+     */
+    private RequestSpecBuilder baseSpecBuilder() {
+        return new RequestSpecBuilder()
+                .setBaseUri(config.getBaseUrl())
+                .setBasePath("/" + config.getApiVersion())
+                .setConfig(restAssuredConfig)
+                .setAccept(ContentType.JSON)
+                .addFilter(new ConnectionReleaseFilter());
+    }
+    
+    /**
+     * Get connection pool hit/miss and lease wait statistics
+     */
+    public ConnectionPoolStats getConnectionPoolStats() {
+        return httpClientFactory.getStats();
+    }
+    
+    /**
+     * Retry counts per endpoint and retries refused by the retry budget
+     */
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+    
+    /**
+     * Get response cache statistics, or null when the cache is disabled (http.cache.enabled=false)
+     */
+    public ResponseCacheStats getResponseCacheStats() {
+        return responseCache == null ? null : responseCache.getStats();
+    }
+    
+    /**
+     * Response sizes and latencies per content encoding
+     */
+    public CompressionStats getCompressionStats() {
+        return responseDecoder.getStats();
+    }
+    
+    /**
+     * Responses received by the JDK client per negotiated protocol version
+     */
+    public Map<HttpClient.Version, Long> getResponsesByHttpVersion() {
+        return asyncTransport.getResponsesByVersion();
+    }
+    
+    /**
+     * Create a base request specification with common settings.
+     * Package-private so the request building cost can be benchmarked (see RequestSpecBenchmark)
+     */
+    RequestSpecification getBaseRequest() {
+        return RestAssured.given(jsonSpec);
+    }
+    
+    /**
+     * Send a request, retrying transient failures according to the retry policy.
+     * All attempts share the endpoint's deadline; a retry that cannot start before it is not made.
+     */
+    private Response execute(String method, String endpoint, Map<String, Object> pathParams,
+                             Supplier<Response> request) {
+        String key = endpointKey(method, endpoint);
+        String path = pathOf(endpoint);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getDeadlineMillis(path));
+        int readTimeout = config.getReadTimeoutMillis(path);
+        retryPolicy.onRequest();
+        Response written = null;
+        try {
+            for (int attempt = 0; ; attempt++) {
+                Response response;
+                try {
+                    response = sendOnce(key, request, deadline, readTimeout);
+                } catch (Exception e) {
+                    // REST Assured rethrows checked I/O exceptions undeclared, so catch them all here
+                    long delay = retryPolicy.isRetryable(method, e)
+                            ? retryPolicy.nextDelayMillis(key, attempt, remainingMillis(deadline)) : -1;
+                    if (delay < 0 || !backOff(delay)) {
+                        throw e;
+                    }
+                    continue;
+                }
+                if (retryPolicy.isRetryable(method, response.getStatusCode())) {
+                    long delay = retryPolicy.nextDelayMillis(key, attempt, remainingMillis(deadline));
+                    if (delay >= 0 && backOff(delay)) {
+                        continue;
+                    }
+                }
+                written = response;
+                trackResources(CreatedResources.current(), method, endpoint, pathParams, response);
+                return response;
+            }
+        } finally {
+            invalidateOnWrite(method, endpoint, pathParams, written);
+        }
+    }
+    
+    /**
+     * Send one attempt and record its latency. Virtual threads first wait for a free pooled connection on a
+     * semaphore: the pool blocks inside a synchronized block while leasing, which would pin the carrier thread.
+     * HTTP/2 requests share one multiplexed connection and need no permit.
+     * Timeouts are rethrown as RequestTimeoutException and counted per endpoint.
+     */
+    private Response sendOnce(String key, Supplier<Response> request, long deadline, int readTimeout) {
+        RateLimiter limiter = rateLimiter;
+        if (limiter != null) {
+            limiter.acquire();
+        }
+        long start = System.nanoTime();
+        Response response = null;
+        try (RequestDeadline requestDeadline = RequestDeadline.open(deadline, readTimeout)) {
+            try {
+                if (http2 || !Thread.currentThread().isVirtual()) {
+                    response = request.get();
+                    return response;
+                }
+                connectionPermits.acquireUninterruptibly();
+                try {
+                    response = request.get();
+                    return response;
+                } finally {
+                    connectionPermits.release();
+                }
+            } catch (Exception e) {
+                RequestTimeoutException timeout = RequestTimeoutException.from(key, e, requestDeadline.isExpired());
+                if (timeout == null) {
+                    throw e;
+                }
+                OutcomeCounter.endpoints().increment(key, timeout.getKind().outcome());
+                throw timeout;
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            LatencyRecorder.endpoints().record(key, elapsed);
+            if (response != null) {
+                responseDecoder.recordLatency(response.getHeader("Content-Encoding"), elapsed);
+            }
         }
-        return instance;
     }
     
-    private void setupRestAssured() {
-        RestAssured.baseURI = config.getBaseUrl();
-        RestAssured.basePath = "/" + config.getApiVersion();
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+    /**
+     * Send a synchronous request over HTTP/2 through the JDK client, within the current attempt's deadline
+     *
+     * @param headers extra request headers, may be null
+     */
+    private Response sendHttp2(String method, String endpoint, Map<String, Object> pathParams, Object body,
+                               Map<String, String> headers) {
+        Duration timeout = RequestDeadline.remainingTimeout(Duration.ofSeconds(config.getTimeout()));
+        try {
+            return asyncTransport.send(method, endpoint, pathParams, body, headers, timeout).join();
+        } catch (CompletionException e) {
+            // Timeouts and I/O failures stay wrapped; RetryPolicy and RequestTimeoutException look through the cause
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
     }
     
     /**
-     * Create a base request specification with common settings
+     * Register a successful create with the scenario's cleanup registry, or forget a resource it deleted itself
      */
-    private RequestSpecification getBaseRequest() {
-        return RestAssured.given()
-                .contentType(ContentType.JSON)
-                .accept(ContentType.JSON);
+    private void trackResources(CreatedResources registry, String method, String endpoint,
+                                Map<String, Object> pathParams, Response response) {
+        if (!trackCreatedResources || response.getStatusCode() != 200) {
+            return;
+        }
+        if ("POST".equals(method)) {
+            String deleteEndpoint = DELETE_ENDPOINTS.get(pathOf(endpoint));
+            Object id = deleteEndpoint == null ? null : ParsedResponse.of(response).get("id");
+            if (id != null) {
+                registry.add(new CreatedResources.Resource(deleteEndpoint, id));
+            }
+        } else if ("DELETE".equals(method) && DELETE_ENDPOINTS.containsValue(endpoint)) {
+            CreatedResources.Resource deleted = CreatedResources.Resource.fromPathParams(endpoint, pathParams);
+            if (deleted != null) {
+                registry.remove(deleted);
+            }
+        }
+    }
+    
+    private static long remainingMillis(long deadline) {
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
     }
     
     /**
-     * Perform GET request
+     * Sleep before a retry; returns false if interrupted, in which case the retry is abandoned
      */
-    public Response get(String endpoint) {
-        return getBaseRequest()
+    private static boolean backOff(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * Serve a GET from the response cache when enabled, revalidating stale entries with their ETag
+     */
+    private Response cachedGet(String endpoint, Map<String, Object> pathParams) {
+        if (responseCache == null) {
+            return execute("GET", endpoint, pathParams, () -> sendGet(endpoint, pathParams, null));
+        }
+        String key = ResponseCache.key(endpoint, pathParams);
+        Response cached = responseCache.getFresh(key);
+        if (cached != null) {
+            return cached;
+        }
+        String etag = responseCache.getETag(key);
+        // Taken before sending, so a write that completes while the GET is in flight keeps its response uncached
+        long generation = responseCache.readGeneration();
+        Response response = responseCache.store(key,
+                execute("GET", endpoint, pathParams, () -> sendGet(endpoint, pathParams, etag)), generation);
+        if (response == null) {
+            // Revalidated, but the entry was evicted or invalidated in the meantime
+            long retryGeneration = responseCache.readGeneration();
+            response = responseCache.store(key,
+                    execute("GET", endpoint, pathParams, () -> sendGet(endpoint, pathParams, null)), retryGeneration);
+        }
+        return response;
+    }
+    
+    private Response sendGet(String endpoint, Map<String, Object> pathParams, String etag) {
+        if (http2) {
+            return sendHttp2("GET", endpoint, pathParams, null, etag == null ? null : Map.of("If-None-Match", etag));
+        }
+        RequestSpecification request = getBaseRequest();
+        if (pathParams != null) {
+            request.pathParams(pathParams);
+        }
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return request
                 .when()
                 .get(endpoint)
                 .then()
@@ -54,86 +351,306 @@ public class ApiClient {
                 .response();
     }
     
+    /**
+     * Serve an asynchronous GET from the response cache when enabled, like {@link #cachedGet}
+     */
+    private CompletableFuture<Response> cachedGetAsync(String endpoint, Map<String, Object> pathParams) {
+        if (responseCache == null) {
+            return executeAsync("GET", endpoint, pathParams, null, null);
+        }
+        String key = ResponseCache.key(endpoint, pathParams);
+        Response cached = responseCache.getFresh(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        String etag = responseCache.getETag(key);
+        long generation = responseCache.readGeneration();
+        return executeAsync("GET", endpoint, pathParams, null, etag == null ? null : Map.of("If-None-Match", etag))
+                .thenCompose(response -> {
+                    Response stored = responseCache.store(key, response, generation);
+                    if (stored != null) {
+                        return CompletableFuture.completedFuture(stored);
+                    }
+                    // Revalidated, but the entry was evicted or invalidated in the meantime
+                    long retryGeneration = responseCache.readGeneration();
+                    return executeAsync("GET", endpoint, pathParams, null, null)
+                            .thenApply(retried -> responseCache.store(key, retried, retryGeneration));
+                });
+    }
+    
+    /**
+     * Drop the cached reads a write may have changed, narrowed to the written item where its path parameters or
+     * the id in its response tell which one it was
+     *
+     * @param response the write's response, or null if it failed
+     */
+    private void invalidateOnWrite(String method, String endpoint, Map<String, Object> pathParams,
+                                   Response response) {
+        if (responseCache != null && !"GET".equals(method)) {
+            responseCache.invalidate(endpoint, pathParams, writtenIdOf(response));
+        }
+    }
+    
+    private static Object writtenIdOf(Response response) {
+        if (response == null || response.getStatusCode() != 200) {
+            return null;
+        }
+        try {
+            Object id = ParsedResponse.of(response).get("id");
+            return id instanceof Number || id instanceof String ? id : null;
+        } catch (RuntimeException e) {
+            // Not a JSON object; the whole resource is invalidated
+            return null;
+        }
+    }
+    
+    /**
+     * Latency key for a call, e.g. "GET /pet/{petId}"; query strings are dropped so calls aggregate per endpoint
+     */
+    private static String endpointKey(String method, String endpoint) {
+        return method + " " + pathOf(endpoint);
+    }
+    
+    private static String pathOf(String endpoint) {
+        int query = endpoint.indexOf('?');
+        return query < 0 ? endpoint : endpoint.substring(0, query);
+    }
+    
+    /**
+     * Pace every request through the given limiter, e.g. to hold a target request rate during load runs.
+     * Pass null to remove the limit.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+    
+    /**
+     * Perform GET request
+     */
+    public Response get(String endpoint) {
+        return cachedGet(endpoint, null);
+    }
+    
     /**
      * Perform GET request with path parameters
      */
     public Response get(String endpoint, Map<String, Object> pathParams) {
-        return getBaseRequest()
-                .pathParams(pathParams)
-                .when()
-                .get(endpoint)
-                .then()
-                .extract()
-                .response();
+        return cachedGet(endpoint, pathParams);
     }
     
     /**
      * Perform POST request with body
      */
     public Response post(String endpoint, Object body) {
-        return getBaseRequest()
-                .body(body)
-                .when()
-                .post(endpoint)
-                .then()
-                .extract()
-                .response();
+        return execute("POST", endpoint, null, http2
+                ? () -> sendHttp2("POST", endpoint, null, body, null)
+                : () -> getBaseRequest()
+                        .body(body)
+                        .when()
+                        .post(endpoint)
+                        .then()
+                        .extract()
+                        .response());
     }
     
     /**
      * Perform PUT request with body
      */
     public Response put(String endpoint, Object body) {
-        return getBaseRequest()
-                .body(body)
-                .when()
-                .put(endpoint)
-                .then()
-                .extract()
-                .response();
+        return execute("PUT", endpoint, null, http2
+                ? () -> sendHttp2("PUT", endpoint, null, body, null)
+                : () -> getBaseRequest()
+                        .body(body)
+                        .when()
+                        .put(endpoint)
+                        .then()
+                        .extract()
+                        .response());
     }
     
     /**
      * Perform DELETE request
      */
     public Response delete(String endpoint) {
-        return getBaseRequest()
-                .when()
-                .delete(endpoint)
-                .then()
-                .extract()
-                .response();
+        return execute("DELETE", endpoint, null, http2
+                ? () -> sendHttp2("DELETE", endpoint, null, null, null)
+                : () -> getBaseRequest()
+                        .when()
+                        .delete(endpoint)
+                        .then()
+                        .extract()
+                        .response());
     }
     
     /**
      * Perform DELETE request with path parameters
      */
     public Response delete(String endpoint, Map<String, Object> pathParams) {
-        return getBaseRequest()
-                .pathParams(pathParams)
-                .when()
-                .delete(endpoint)
-                .then()
-                .extract()
-                .response();
+        return execute("DELETE", endpoint, pathParams, http2
+                ? () -> sendHttp2("DELETE", endpoint, pathParams, null, null)
+                : () -> getBaseRequest()
+                        .pathParams(pathParams)
+                        .when()
+                        .delete(endpoint)
+                        .then()
+                        .extract()
+                        .response());
     }
     
     /**
-     * Perform POST request with form data (for file uploads)
+     * Perform POST request with form data (for file uploads). Always sent over HTTP/1.1 by the pooled client.
      */
     public Response postWithFormData(String endpoint, Map<String, Object> formParams) {
-        RequestSpecification request = RestAssured.given()
-                .accept(ContentType.JSON);
+        RequestSpecification request = RestAssured.given(multipartSpec);
         
         for (Map.Entry<String, Object> entry : formParams.entrySet()) {
             request.multiPart(entry.getKey(), entry.getValue());
         }
         
-        return request
+        return execute("POST", endpoint, null, () -> request
                 .when()
                 .post(endpoint)
                 .then()
                 .extract()
-                .response();
+                .response());
+    }
+    
+    /**
+     * @param headers extra request headers, may be null
+     */
+    private CompletableFuture<Response> executeAsync(String method, String endpoint, Map<String, Object> pathParams,
+                                                     Object body, Map<String, String> headers) {
+        String path = pathOf(endpoint);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getDeadlineMillis(path));
+        int readTimeout = config.getReadTimeoutMillis(path);
+        retryPolicy.onRequest();
+        // Completions run on transport threads, so capture the calling scenario's registry here
+        CreatedResources registry = CreatedResources.current();
+        return sendAsync(method, endpoint, pathParams, body, headers, deadline, readTimeout, 0)
+                .whenComplete((response, error) -> {
+                    invalidateOnWrite(method, endpoint, pathParams, response);
+                    if (response != null) {
+                        trackResources(registry, method, endpoint, pathParams, response);
+                    }
+                });
+    }
+    
+    /**
+     * Send one asynchronous attempt once the rate limiter's slot for it is due. Nothing here blocks: the caller
+     * may be a scenario thread or the pool thread running a retry, so pacing delays are scheduled, not slept.
+     */
+    private CompletableFuture<Response> sendAsync(String method, String endpoint, Map<String, Object> pathParams,
+                                                  Object body, Map<String, String> headers,
+                                                  long deadline, int readTimeout, int attempt) {
+        RateLimiter limiter = rateLimiter;
+        long pacingNanos = limiter == null ? 0 : limiter.reserve();
+        if (pacingNanos <= 0) {
+            return sendAttemptAsync(method, endpoint, pathParams, body, headers, deadline, readTimeout, attempt);
+        }
+        Executor whenDue = CompletableFuture.delayedExecutor(pacingNanos, TimeUnit.NANOSECONDS);
+        return CompletableFuture.runAsync(() -> { }, whenDue)
+                .thenCompose(ignored -> sendAttemptAsync(method, endpoint, pathParams, body, headers,
+                        deadline, readTimeout, attempt));
+    }
+    
+    /**
+     * Send one asynchronous attempt; a retryable outcome schedules the next attempt after the backoff delay
+     */
+    private CompletableFuture<Response> sendAttemptAsync(String method, String endpoint,
+                                                         Map<String, Object> pathParams, Object body,
+                                                         Map<String, String> headers,
+                                                         long deadline, int readTimeout, int attempt) {
+        String key = endpointKey(method, endpoint);
+        long start = System.nanoTime();
+        Duration timeout = Duration.ofMillis(Math.max(1, Math.min(readTimeout, remainingMillis(deadline))));
+        return asyncTransport.send(method, endpoint, pathParams, body, headers, timeout)
+                .whenComplete((response, error) -> {
+                    long elapsed = System.nanoTime() - start;
+                    LatencyRecorder.endpoints().record(key, elapsed);
+                    if (response != null) {
+                        responseDecoder.recordLatency(response.getHeader("Content-Encoding"), elapsed);
+                    }
+                })
+                .handle((response, error) -> {
+                    Throwable failure = error;
+                    if (error != null) {
+                        RequestTimeoutException timeoutError =
+                                RequestTimeoutException.from(key, error, System.nanoTime() - deadline >= 0);
+                        if (timeoutError != null) {
+                            OutcomeCounter.endpoints().increment(key, timeoutError.getKind().outcome());
+                            failure = timeoutError;
+                        }
+                    }
+                    boolean retryable = failure != null
+                            ? retryPolicy.isRetryable(method, failure)
+                            : retryPolicy.isRetryable(method, response.getStatusCode());
+                    long delay = retryable ? retryPolicy.nextDelayMillis(key, attempt, remainingMillis(deadline)) : -1;
+                    if (delay < 0) {
+                        return failure != null ? CompletableFuture.<Response>failedFuture(failure)
+                                : CompletableFuture.completedFuture(response);
+                    }
+                    Executor afterBackoff = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS);
+                    return CompletableFuture.runAsync(() -> { }, afterBackoff)
+                            .thenCompose(ignored -> sendAsync(method, endpoint, pathParams, body, headers,
+                                    deadline, readTimeout, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+    
+    /**
+     * Perform GET request asynchronously, served from the response cache like {@link #get(String)}
+     */
+    public CompletableFuture<Response> getAsync(String endpoint) {
+        return cachedGetAsync(endpoint, null);
+    }
+    
+    /**
+     * Perform GET request with path parameters asynchronously, served from the response cache like
+     * {@link #get(String, Map)}
+     */
+    public CompletableFuture<Response> getAsync(String endpoint, Map<String, Object> pathParams) {
+        return cachedGetAsync(endpoint, pathParams);
+    }
+    
+    /**
+     * Perform POST request with body asynchronously
+     */
+    public CompletableFuture<Response> postAsync(String endpoint, Object body) {
+        return executeAsync("POST", endpoint, null, body, null);
+    }
+    
+    /**
+     * Perform PUT request with body asynchronously
+     */
+    public CompletableFuture<Response> putAsync(String endpoint, Object body) {
+        return executeAsync("PUT", endpoint, null, body, null);
+    }
+    
+    /**
+     * Perform DELETE request asynchronously
+     */
+    public CompletableFuture<Response> deleteAsync(String endpoint) {
+        return executeAsync("DELETE", endpoint, null, null, null);
+    }
+    
+    /**
+     * Perform DELETE request with path parameters asynchronously
+     */
+    public CompletableFuture<Response> deleteAsync(String endpoint, Map<String, Object> pathParams) {
+        return executeAsync("DELETE", endpoint, pathParams, null, null);
+    }
+    
+    /**
+     * Number of asynchronous requests currently awaiting a response
+     */
+    public int getAsyncRequestsInFlight() {
+        return asyncTransport.getInFlight();
+    }
+    
+    /**
+     * Number of asynchronous requests queued until one in flight completes (see async.max.in.flight)
+     */
+    public int getAsyncRequestsQueued() {
+        return asyncTransport.getQueued();
     }
 }
@@ -0,0 +1,197 @@
+package com.petstore.utils;
+
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Sends one async request per item, keeping at most maxInFlight of them outstanding, and waits for all of them.
+ * Each response is read into a value; a request that fails, or whose response the reader rejects with
+ * {@link Failure}, is recorded with the reason instead.
+ */
+public final class BoundedFanOut {
+
+    private BoundedFanOut() {
+    }
+
+    /**
+     * @param send starts the request for an item
+     * @param read turns a response into the item's value; throws {@link Failure} for a response that counts
+     *             as failed, e.g. an unexpected status
+     */
+    public static <T, R> Result<T, R> run(List<T> items, int maxInFlight,
+                                          Function<? super T, CompletableFuture<Response>> send,
+                                          Function<? super Response, ? extends R> read) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1 but was " + maxInFlight);
+        }
+        Semaphore permits = new Semaphore(maxInFlight);
+        AtomicReferenceArray<Outcome<T, R>> outcomes = new AtomicReferenceArray<>(items.size());
+        List<CompletableFuture<?>> requests = new ArrayList<>(items.size());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < items.size(); i++) {
+            int index = i;
+            T item = items.get(i);
+            permits.acquireUninterruptibly();
+            CompletableFuture<Response> request;
+            try {
+                request = send.apply(item);
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            requests.add(request.whenComplete((response, error) -> {
+                try {
+                    outcomes.set(index, outcomeOf(item, response, error, read));
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]))
+                .exceptionally(error -> null)
+                .join();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        List<Outcome<T, R>> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            results.add(outcomes.get(i));
+        }
+        return new Result<>(results, elapsed);
+    }
+
+    private static <T, R> Outcome<T, R> outcomeOf(T item, Response response, Throwable error,
+                                                    Function<? super Response, ? extends R> read) {
+        if (error != null) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause() : error;
+            return new Outcome<>(item, null, cause.getClass().getSimpleName());
+        }
+        try {
+            return new Outcome<>(item, read.apply(response), null);
+        } catch (Failure e) {
+            return new Outcome<>(item, null, e.getMessage());
+        } catch (RuntimeException e) {
+            return new Outcome<>(item, null, "Unreadable response");
+        }
+    }
+
+    /**
+     * Thrown by a reader for a response that counts as failed; the message is the reason
+     */
+    public static class Failure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public Failure(String reason) {
+            super(reason, null, false, false);
+        }
+
+        /**
+         * Failure for a response with an unexpected status, reason "HTTP 500" and the like
+         */
+        public static Failure status(Response response) {
+            return new Failure("HTTP " + response.getStatusCode());
+        }
+    }
+
+    /**
+     * What became of one item: its value, or the reason it failed
+     */
+    public static final class Outcome<T, R> {
+        private final T item;
+        private final R value;
+        private final String failure;
+
+        private Outcome(T item, R value, String failure) {
+            this.item = item;
+            this.value = value;
+            this.failure = failure;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public R getValue() {
+            return value;
+        }
+
+        /**
+         * Why the item failed (HTTP status, exception type or the reader's reason), or null if it succeeded
+         */
+        public String getFailure() {
+            return failure;
+        }
+
+        public boolean isSuccess() {
+            return failure == null;
+        }
+    }
+
+    /**
+     * Outcomes in item order, and how long the fan-out took
+     */
+    public static final class Result<T, R> {
+        private final List<Outcome<T, R>> outcomes;
+        private final Duration elapsed;
+
+        private Result(List<Outcome<T, R>> outcomes, Duration elapsed) {
+            this.outcomes = Collections.unmodifiableList(outcomes);
+            this.elapsed = elapsed;
+        }
+
+        public List<Outcome<T, R>> getOutcomes() {
+            return outcomes;
+        }
+
+        /**
+         * Values of the items that succeeded, in item order
+         */
+        public List<R> getValues() {
+            List<R> values = new ArrayList<>();
+            for (Outcome<T, R> outcome : outcomes) {
+                if (outcome.isSuccess()) {
+                    values.add(outcome.getValue());
+                }
+            }
+            return values;
+        }
+
+        public List<Outcome<T, R>> getFailures() {
+            List<Outcome<T, R>> failures = new ArrayList<>();
+            for (Outcome<T, R> outcome : outcomes) {
+                if (!outcome.isSuccess()) {
+                    failures.add(outcome);
+                }
+            }
+            return failures;
+        }
+
+        /**
+         * Failed items counted per reason, sorted by reason
+         */
+        public Map<String, Long> getFailureCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            for (Outcome<T, R> outcome : outcomes) {
+                if (!outcome.isSuccess()) {
+                    counts.merge(outcome.getFailure(), 1L, Long::sum);
+                }
+            }
+            return counts;
+        }
+
+        public Duration getElapsed() {
+            return elapsed;
+        }
+    }
+}
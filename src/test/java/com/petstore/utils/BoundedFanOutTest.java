@@ -0,0 +1,99 @@
+package com.petstore.utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounding, outcome collection and failure reasons of {@link BoundedFanOut}
+ */
+public class BoundedFanOutTest {
+
+    private static Response response(int status, String body) {
+        return new ResponseBuilder()
+                .setStatusCode(status)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+
+    private static List<Integer> items(int count) {
+        List<Integer> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(i);
+        }
+        return items;
+    }
+
+    @Test
+    public void valuesAndFailuresAreCollectedPerItem() {
+        BoundedFanOut.Result<Integer, Integer> result = BoundedFanOut.run(items(6), 2,
+                item -> {
+                    if (item == 4) {
+                        return CompletableFuture.failedFuture(new ConnectException("refused"));
+                    }
+                    if (item == 5) {
+                        throw new IllegalStateException("could not build the request");
+                    }
+                    return CompletableFuture.completedFuture(
+                            item % 2 == 0 ? response(200, "{\"id\":" + item + "}") : response(500, "{}"));
+                },
+                response -> {
+                    if (response.getStatusCode() != 200) {
+                        throw BoundedFanOut.Failure.status(response);
+                    }
+                    return response.jsonPath().getInt("id");
+                });
+
+        Assert.assertEquals(result.getValues(), List.of(0, 2));
+        Assert.assertEquals(result.getFailureCounts(),
+                Map.of("HTTP 500", 2L, "ConnectException", 1L, "IllegalStateException", 1L));
+        Assert.assertEquals(result.getOutcomes().size(), 6);
+        Assert.assertEquals(result.getOutcomes().get(3).getItem(), Integer.valueOf(3), "Outcomes are in item order");
+        Assert.assertEquals(result.getFailures().get(0).getItem(), Integer.valueOf(1));
+    }
+
+    @Test
+    public void unreadableResponseIsAFailure() {
+        BoundedFanOut.Result<Integer, Long> result = BoundedFanOut.run(items(1), 1,
+                item -> CompletableFuture.completedFuture(response(200, "not json")),
+                response -> response.jsonPath().getLong("id"));
+        Assert.assertEquals(result.getFailureCounts(), Map.of("Unreadable response", 1L));
+    }
+
+    @Test
+    public void atMostMaxInFlightRequestsAreOutstanding() {
+        ExecutorService server = Executors.newFixedThreadPool(8);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        try {
+            BoundedFanOut.Result<Integer, Integer> result = BoundedFanOut.run(items(50), 3,
+                    item -> CompletableFuture.supplyAsync(() -> {
+                        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                        try {
+                            TimeUnit.MILLISECONDS.sleep(2);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        inFlight.decrementAndGet();
+                        return response(200, "{}");
+                    }, server),
+                    Response::getStatusCode);
+            Assert.assertEquals(result.getValues().size(), 50);
+            Assert.assertTrue(maxInFlight.get() <= 3, "Max in flight was " + maxInFlight.get());
+        } finally {
+            server.shutdownNow();
+        }
+    }
+}
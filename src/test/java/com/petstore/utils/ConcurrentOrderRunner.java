@@ -0,0 +1,254 @@
+package com.petstore.utils;
+
+import com.petstore.cleanup.CreatedResources;
+import com.petstore.models.Order;
+import io.restassured.response.Response;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Has many buyers, each on its own thread, order the same pet at once and then reads every accepted order back.
+ * An accepted order that cannot be read back as it was placed, or two accepted orders sharing an id,
+ * is a lost update. The pet is a single item, so every accepted order beyond the first oversells it.
+ */
+public class ConcurrentOrderRunner {
+    private final StoreClient storeClient;
+
+    public ConcurrentOrderRunner() {
+        this(new StoreClient());
+    }
+
+    public ConcurrentOrderRunner(StoreClient storeClient) {
+        this.storeClient = storeClient;
+    }
+
+    /**
+     * Have every buyer place one order for the pet from its own thread. The buyers wait at a start latch
+     * until all of them are ready, so their requests race through the client's connection pool and reach
+     * the server together. The accepted orders are verified once all buyers have their answer.
+     */
+    public Result orderSamePet(long petId, int buyers) {
+        ConcurrentLinkedQueue<Order> accepted = new ConcurrentLinkedQueue<>();
+        Map<String, LongAdder> rejections = new ConcurrentHashMap<>();
+        // Orders the buyers place are cleaned up with the scenario that started them
+        CreatedResources registry = CreatedResources.current();
+        CountDownLatch ready = new CountDownLatch(buyers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        long startedAt;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < buyers; i++) {
+                Order order = TestDataPool.getInstance().nextOrder(petId);
+                order.setQuantity(1);
+                order.setStatus("placed");
+                executor.execute(() -> {
+                    registry.bindToCurrentThread();
+                    try {
+                        ready.countDown();
+                        start.await();
+                        placeOrder(order, accepted, rejections);
+                    } catch (InterruptedException e) {
+                        recordRejection(rejections, "Interrupted");
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        CreatedResources.unbindCurrentThread();
+                    }
+                });
+            }
+            awaitUninterruptibly(ready);
+            startedAt = System.nanoTime();
+            start.countDown();
+            // Closing the executor waits for every buyer to finish
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        List<Order> acceptedOrders = new ArrayList<>(accepted);
+        Map<String, Long> rejectionCounts = new TreeMap<>();
+        rejections.forEach((reason, counter) -> rejectionCounts.put(reason, counter.sum()));
+        return new Result(petId, buyers, acceptedOrders, rejectionCounts, findLostUpdates(acceptedOrders), elapsed);
+    }
+
+    private void placeOrder(Order order, Queue<Order> accepted, Map<String, LongAdder> rejections) {
+        Response response;
+        try {
+            response = storeClient.placeOrder(order);
+        } catch (RuntimeException e) {
+            recordRejection(rejections, e.getClass().getSimpleName());
+            return;
+        }
+        if (response.getStatusCode() != 200) {
+            recordRejection(rejections, "HTTP " + response.getStatusCode());
+        } else {
+            accepted.add(acknowledged(order, response));
+        }
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * The order as the server acknowledged it, keeping what was sent when the response cannot be read
+     */
+    private static Order acknowledged(Order sent, Response response) {
+        try {
+            Order order = StoreClient.orderOf(response);
+            if (order.getId() != null) {
+                return order;
+            }
+        } catch (RuntimeException e) {
+            // Fall through; the read-back reports the order as lost
+        }
+        return sent;
+    }
+
+    private List<String> findLostUpdates(List<Order> acceptedOrders) {
+        List<String> lostUpdates = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<Order> readBacks = new ArrayList<>(acceptedOrders.size());
+        for (Order placed : acceptedOrders) {
+            if (placed.getId() == null) {
+                lostUpdates.add("Order for pet " + placed.getPetId() + " was accepted without an id");
+            } else if (!seen.add(placed.getId())) {
+                lostUpdates.add("Order " + placed.getId() + " was accepted for more than one buyer");
+            } else {
+                readBacks.add(placed);
+            }
+        }
+        // All reads at once; the async transport bounds how many are in flight
+        BoundedFanOut.Result<Order, Order> reads = BoundedFanOut.run(readBacks, Math.max(1, readBacks.size()),
+                placed -> storeClient.getOrderAsync(placed.getId()),
+                ConcurrentOrderRunner::readBack);
+        for (BoundedFanOut.Outcome<Order, Order> read : reads.getOutcomes()) {
+            Order placed = read.getItem();
+            String problem = read.isSuccess() ? mismatch(placed, read.getValue()) : read.getFailure();
+            if (problem != null) {
+                lostUpdates.add("Order " + placed.getId() + ": " + problem);
+            }
+        }
+        return lostUpdates;
+    }
+
+    private static Order readBack(Response response) {
+        if (response.getStatusCode() != 200) {
+            throw new BoundedFanOut.Failure("read back HTTP " + response.getStatusCode());
+        }
+        try {
+            return StoreClient.orderOf(response);
+        } catch (RuntimeException e) {
+            throw new BoundedFanOut.Failure("unreadable read back: " + e.getMessage());
+        }
+    }
+
+    private static String mismatch(Order placed, Order stored) {
+        if (!Objects.equals(stored.getPetId(), placed.getPetId())
+                || !Objects.equals(stored.getQuantity(), placed.getQuantity())
+                || !Objects.equals(stored.getStatus(), placed.getStatus())) {
+            return String.format("stored as petId=%s quantity=%s status=%s but placed as petId=%s quantity=%s status=%s",
+                    stored.getPetId(), stored.getQuantity(), stored.getStatus(),
+                    placed.getPetId(), placed.getQuantity(), placed.getStatus());
+        }
+        return null;
+    }
+
+    private static void recordRejection(Map<String, LongAdder> rejections, String reason) {
+        rejections.computeIfAbsent(reason, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Outcome of a contended ordering run
+     */
+    public static class Result {
+        private final long petId;
+        private final int buyers;
+        private final List<Order> acceptedOrders;
+        private final Map<String, Long> rejections;
+        private final List<String> lostUpdates;
+        private final Duration elapsed;
+
+        Result(long petId, int buyers, List<Order> acceptedOrders, Map<String, Long> rejections,
+               List<String> lostUpdates, Duration elapsed) {
+            this.petId = petId;
+            this.buyers = buyers;
+            this.acceptedOrders = Collections.unmodifiableList(acceptedOrders);
+            this.rejections = Collections.unmodifiableMap(rejections);
+            this.lostUpdates = Collections.unmodifiableList(lostUpdates);
+            this.elapsed = elapsed;
+        }
+
+        public long getPetId() {
+            return petId;
+        }
+
+        public int getBuyers() {
+            return buyers;
+        }
+
+        public List<Order> getAcceptedOrders() {
+            return acceptedOrders;
+        }
+
+        /**
+         * Orders the server refused, grouped by reason (HTTP status or exception type)
+         */
+        public Map<String, Long> getRejections() {
+            return rejections;
+        }
+
+        /**
+         * Accepted orders that were not stored as placed
+         */
+        public List<String> getLostUpdates() {
+            return lostUpdates;
+        }
+
+        /**
+         * Accepted orders beyond the single pet available
+         */
+        public int getOversold() {
+            return Math.max(0, acceptedOrders.size() - 1);
+        }
+
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        public double getOrdersPerSecond() {
+            return elapsed.isZero() ? 0.0 : acceptedOrders.size() * 1_000_000_000.0 / elapsed.toNanos();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d of %d buyers ordered pet %d in %d ms (%.1f orders/s, oversold %d, "
+                            + "lost updates %d, rejections %s)",
+                    acceptedOrders.size(), buyers, petId, elapsed.toMillis(), getOrdersPerSecond(),
+                    getOversold(), lostUpdates.size(), rejections);
+        }
+    }
+}
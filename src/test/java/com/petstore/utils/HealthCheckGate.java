@@ -0,0 +1,142 @@
+package com.petstore.utils;
+
+import com.petstore.config.TestConfig;
+import io.restassured.response.Response;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Suite-wide check that the Petstore API is reachable, shared by every scenario's Background.
+ * A successful probe is trusted for health.check.interval seconds (0 = for the rest of the run),
+ * so healthy runs make one probe instead of one per scenario. A failed probe opens the circuit:
+ * for health.check.cooldown seconds every scenario fails immediately instead of waiting on a dead
+ * API, after which the next caller probes again.
+ */
+public class HealthCheckGate {
+    private enum State { UNCHECKED, HEALTHY, OPEN }
+    
+    /**
+     * Result of the last probe, published as a whole so readers never pair one probe's state with
+     * another probe's time
+     */
+    private static final class Check {
+        private static final Check NONE = new Check(State.UNCHECKED, 0, null);
+        
+        private final State state;
+        private final long checkedAt;
+        private final String failure;
+        
+        private Check(State state, long checkedAt, String failure) {
+            this.state = state;
+            this.checkedAt = checkedAt;
+            this.failure = failure;
+        }
+    }
+    
+    private final ApiClient apiClient;
+    private final String endpoint;
+    private final long intervalNanos;
+    private final long cooldownNanos;
+    // Not synchronized: a probe is a blocking network call and would pin a virtual thread's carrier
+    private final ReentrantLock probeLock = new ReentrantLock();
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder fastFailures = new LongAdder();
+    private volatile Check last = Check.NONE;
+    
+    HealthCheckGate(ApiClient apiClient, String endpoint, long interval, long cooldown, TimeUnit unit) {
+        this.apiClient = apiClient;
+        this.endpoint = endpoint;
+        this.intervalNanos = unit.toNanos(interval);
+        this.cooldownNanos = unit.toNanos(cooldown);
+    }
+    
+    /**
+     * Lazily created on first use; the holder class makes initialisation thread-safe without locking
+     */
+    private static class Holder {
+        private static final HealthCheckGate INSTANCE = create(TestConfig.getInstance());
+        
+        private static HealthCheckGate create(TestConfig config) {
+            return new HealthCheckGate(ApiClient.getInstance(), config.getHealthCheckEndpoint(),
+                    config.getHealthCheckInterval(), config.getHealthCheckCooldown(), TimeUnit.SECONDS);
+        }
+    }
+    
+    public static HealthCheckGate getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    /**
+     * Return if the API is known to be healthy, probing it if the last result has expired
+     *
+     * @throws AssertionError if the API is down or the circuit is still open after a failed probe
+     */
+    public void ensureAvailable() {
+        Check check = last;
+        if (isCurrent(check)) {
+            assertHealthy(check);
+            return;
+        }
+        probeLock.lock();
+        try {
+            // Another thread may have probed while this one waited for the lock
+            check = last;
+            if (!isCurrent(check)) {
+                check = probe();
+            } else if (check.state == State.OPEN) {
+                fastFailures.increment();
+            }
+        } finally {
+            probeLock.unlock();
+        }
+        if (check.state != State.HEALTHY) {
+            throw new AssertionError(check.failure);
+        }
+    }
+    
+    private boolean isCurrent(Check check) {
+        long age = System.nanoTime() - check.checkedAt;
+        switch (check.state) {
+            case HEALTHY:
+                return intervalNanos == 0 || age < intervalNanos;
+            case OPEN:
+                return age < cooldownNanos;
+            default:
+                return false;
+        }
+    }
+    
+    private void assertHealthy(Check check) {
+        if (check.state != State.HEALTHY) {
+            fastFailures.increment();
+            throw new AssertionError(check.failure);
+        }
+    }
+    
+    private Check probe() {
+        probes.increment();
+        String result;
+        try {
+            Response response = apiClient.get(endpoint);
+            result = response.getStatusCode() == 200 ? null
+                    : String.format("Health check GET %s returned %d", endpoint, response.getStatusCode());
+        } catch (Exception e) {
+            // REST Assured rethrows checked connection errors such as ConnectException undeclared
+            result = String.format("Health check GET %s failed: %s", endpoint, e);
+        }
+        Check check = result == null
+                ? new Check(State.HEALTHY, System.nanoTime(), null)
+                : new Check(State.OPEN, System.nanoTime(),
+                        "Petstore API unavailable, failing fast until the next health check. " + result);
+        last = check;
+        return check;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("HealthCheckGate{state=%s, probes=%d, fastFailures=%d}",
+                last.state, probes.sum(), fastFailures.sum());
+    }
+}
@@ -0,0 +1,107 @@
+package com.petstore.utils;
+
+import com.petstore.config.TestConfig;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out ids that are unique across the threads of a run and across parallel CI nodes.
+ * An id is composed of the node id, a run id and a sequence number starting at 1, so no id is ever 0,
+ * which the Petstore would read as "assign an id":
+ * <pre>
+ *   0 | node (8 bits) | run (27 bits) | sequence (28 bits)
+ * </pre>
+ * The node id comes from test.node.id, so nodes running in parallel must be given distinct values.
+ * The run id comes from test.run.id, or is derived from the start time: the minute the JVM started
+ * (counted from 2024 and wrapping after about four years) followed by 6 random bits. Runs on one node that
+ * start in different minutes therefore never share a run id; runs starting in the same minute collide
+ * with a chance of 1 in 64, so pass test.run.id when ids must not clash with a concurrent run.
+ * Each thread reserves a block of sequence numbers at a time, so the shared counter is only touched
+ * once per block.
+ */
+public class IdAllocator {
+    static final int NODE_BITS = 8;
+    static final int RUN_BITS = 27;
+    static final int SEQUENCE_BITS = 28;
+    private static final int RUN_RANDOM_BITS = 6;
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final long MAX_SEQUENCE = 1L << SEQUENCE_BITS;
+    private static final int BLOCK_SIZE = 64;
+
+    private final int nodeId;
+    private final int runId;
+    private final long prefix;
+    // Sequence 0 is never handed out
+    private final AtomicLong nextBlock = new AtomicLong(1);
+    // [next, end) of the block reserved by the current thread
+    private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+
+    public IdAllocator(int nodeId, int runId) {
+        if (nodeId < 0 || nodeId >= 1 << NODE_BITS) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + ((1 << NODE_BITS) - 1)
+                    + " but was " + nodeId);
+        }
+        if (runId < 0 || runId >= 1 << RUN_BITS) {
+            throw new IllegalArgumentException("Run id must be between 0 and " + ((1 << RUN_BITS) - 1)
+                    + " but was " + runId);
+        }
+        this.nodeId = nodeId;
+        this.runId = runId;
+        this.prefix = ((long) nodeId << (RUN_BITS + SEQUENCE_BITS)) | ((long) runId << SEQUENCE_BITS);
+    }
+
+    /**
+     * Lazily created on first use; the holder class makes initialisation thread-safe without locking
+     */
+    private static class Holder {
+        private static final IdAllocator INSTANCE = fromConfig(TestConfig.getInstance());
+    }
+
+    public static IdAllocator getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    static IdAllocator fromConfig(TestConfig config) {
+        int nodeId = Integer.parseInt(config.getProperty("test.node.id", "0"));
+        String runId = config.getProperty("test.run.id");
+        return new IdAllocator(nodeId, runId != null ? Integer.parseInt(runId)
+                : runIdAt(System.currentTimeMillis(), new SecureRandom().nextInt(1 << RUN_RANDOM_BITS)));
+    }
+
+    /**
+     * Run id for a run started at the given time: the minutes since 2024, wrapped to the bits left
+     * over, followed by the random bits
+     */
+    static int runIdAt(long epochMillis, int random) {
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(epochMillis - EPOCH_MILLIS);
+        long minuteBits = minutes & ((1L << (RUN_BITS - RUN_RANDOM_BITS)) - 1);
+        return (int) (minuteBits << RUN_RANDOM_BITS) | (random & ((1 << RUN_RANDOM_BITS) - 1));
+    }
+
+    /**
+     * Next unique id; never blocks and takes no lock
+     */
+    public long nextId() {
+        long[] range = block.get();
+        if (range[0] == range[1]) {
+            long start = nextBlock.getAndAdd(BLOCK_SIZE);
+            if (start + BLOCK_SIZE > MAX_SEQUENCE) {
+                throw new IllegalStateException("All " + (MAX_SEQUENCE - 1) + " ids of run " + runId + " are used up");
+            }
+            range[0] = start;
+            range[1] = start + BLOCK_SIZE;
+        }
+        return prefix | range[0]++;
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public int getRunId() {
+        return runId;
+    }
+}
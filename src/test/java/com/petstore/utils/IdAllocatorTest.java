@@ -0,0 +1,95 @@
+package com.petstore.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Bit layout, run ids and thread-safety of {@link IdAllocator}
+ */
+public class IdAllocatorTest {
+    private static final long SEQUENCE_MASK = (1L << IdAllocator.SEQUENCE_BITS) - 1;
+    private static final long RUN_MASK = (1L << IdAllocator.RUN_BITS) - 1;
+
+    @Test
+    public void idIsComposedOfNodeRunAndSequence() {
+        int maxNode = (1 << IdAllocator.NODE_BITS) - 1;
+        int maxRun = (1 << IdAllocator.RUN_BITS) - 1;
+        long id = new IdAllocator(maxNode, maxRun).nextId();
+
+        Assert.assertTrue(id > 0, "The sign bit is never set");
+        Assert.assertEquals(id >>> (IdAllocator.RUN_BITS + IdAllocator.SEQUENCE_BITS), maxNode);
+        Assert.assertEquals((id >>> IdAllocator.SEQUENCE_BITS) & RUN_MASK, maxRun);
+        Assert.assertEquals(id & SEQUENCE_MASK, 1);
+    }
+
+    @Test
+    public void firstIdIsNotZero() {
+        IdAllocator ids = new IdAllocator(0, 0);
+        Assert.assertEquals(ids.nextId(), 1, "The Petstore assigns its own id when given 0");
+        Assert.assertEquals(ids.nextId(), 2);
+    }
+
+    @Test
+    public void idsAreUniqueAcrossThreads() throws Exception {
+        IdAllocator ids = new IdAllocator(3, 5);
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    long[] drawn = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        drawn[i] = ids.nextId();
+                    }
+                    return drawn;
+                }));
+            }
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> future : futures) {
+                for (long id : future.get()) {
+                    Assert.assertTrue(seen.add(id), "Duplicate id " + id);
+                    Assert.assertNotEquals(id & SEQUENCE_MASK, 0L);
+                }
+            }
+            Assert.assertEquals(seen.size(), threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void runIdChangesWithTheStartMinute() {
+        long start = Instant.parse("2026-03-01T10:15:00Z").toEpochMilli();
+        int runId = IdAllocator.runIdAt(start, 7);
+        Assert.assertEquals(runId & 63, 7, "The low bits are the random part");
+        Assert.assertEquals(IdAllocator.runIdAt(start + 59_000, 7), runId, "Same minute, same random bits");
+        Assert.assertNotEquals(IdAllocator.runIdAt(start + 60_000, 7), runId);
+        Assert.assertNotEquals(IdAllocator.runIdAt(start, 8), runId);
+    }
+
+    @Test
+    public void runIdAlwaysFitsItsBits() {
+        long farFuture = Instant.parse("2099-12-31T23:59:00Z").toEpochMilli();
+        int runId = IdAllocator.runIdAt(farFuture, -1);
+        Assert.assertTrue(runId >= 0 && runId < 1 << IdAllocator.RUN_BITS, "Run id " + runId);
+        new IdAllocator(0, runId);
+    }
+
+    @Test
+    public void outOfRangeIdsAreRejected() {
+        Assert.expectThrows(IllegalArgumentException.class, () -> new IdAllocator(1 << IdAllocator.NODE_BITS, 0));
+        Assert.expectThrows(IllegalArgumentException.class, () -> new IdAllocator(-1, 0));
+        Assert.expectThrows(IllegalArgumentException.class, () -> new IdAllocator(0, 1 << IdAllocator.RUN_BITS));
+    }
+}
@@ -0,0 +1,101 @@
+package com.petstore.utils;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.petstore.config.TestConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The one Jackson ObjectMapper used for the Pet, Order, Category and Tag models, configured from TestConfig.
+ * Readers and writers are immutable and thread-safe, so one per model type is created and reused.
+ */
+public class ObjectMapperProvider {
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    
+    private ObjectMapperProvider() {
+        this.mapper = createMapper(TestConfig.getInstance());
+        this.writer = mapper.writer();
+    }
+    
+    /**
+     * Lazily created on first use; the holder class makes initialisation thread-safe without locking
+     */
+    private static class Holder {
+        private static final ObjectMapperProvider INSTANCE = new ObjectMapperProvider();
+    }
+    
+    public static ObjectMapperProvider getInstance() {
+        return Holder.INSTANCE;
+    }
+    
+    static ObjectMapper createMapper(TestConfig config) {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, config.isJsonFailOnUnknownProperties())
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                // Every collection property has a setter; never add to a list returned by a getter instead
+                .disable(MapperFeature.USE_GETTERS_AS_SETTERS)
+                .serializationInclusion(config.isJsonIncludeNulls() ? JsonInclude.Include.ALWAYS : JsonInclude.Include.NON_NULL);
+        if (config.isJsonBlackbirdEnabled()) {
+            builder.addModule(new BlackbirdModule());
+        }
+        return builder.build();
+    }
+    
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+    
+    public ObjectWriter writer() {
+        return writer;
+    }
+    
+    public ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, mapper::readerFor);
+    }
+    
+    /**
+     * Model read from a response body with the shared mapper. The one way models are read from responses,
+     * sync or async, whatever REST Assured configuration the response carries.
+     */
+    public <T> T read(Response response, Class<T> type) {
+        try {
+            return readerFor(type).readValue(response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + type.getSimpleName() + " from the response body", e);
+        }
+    }
+    
+    /**
+     * Generic type such as Map&lt;String, Integer&gt; read from a response body with the shared mapper
+     */
+    public <T> T read(Response response, TypeReference<T> type) {
+        try {
+            return mapper.readerFor(type).readValue(response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + type.getType() + " from the response body", e);
+        }
+    }
+    
+    /**
+     * REST Assured object mapping backed by the shared mapper, used to serialize request bodies with .body(model)
+     */
+    public ObjectMapperConfig objectMapperConfig() {
+        return ObjectMapperConfig.objectMapperConfig().jackson2ObjectMapperFactory((type, charset) -> mapper);
+    }
+}
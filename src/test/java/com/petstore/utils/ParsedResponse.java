@@ -0,0 +1,171 @@
+package com.petstore.utils;
+
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A response body parsed once into a tree of maps and lists, so that the many assertions a step
+ * makes on one response share a single parse instead of re-parsing the body for every JSON path.
+ * Simple paths such as "name", "category.name", "tags[0].name", "[0].id" or "$" are evaluated directly
+ * against the tree; any other GPath expression falls back to REST Assured's JsonPath.
+ */
+public class ParsedResponse {
+    private static final Pattern SIMPLE_PATH = Pattern.compile("([A-Za-z0-9_\\-]+|\\[\\d+\\])(\\[\\d+\\])*(\\.[A-Za-z0-9_\\-]+(\\[\\d+\\])*)*");
+    private static final Object UNRESOLVED = new Object();
+    
+    /**
+     * Keyed by response identity with weak keys, so an entry disappears with its response; the values never
+     * reference the response. Lookups take no lock.
+     */
+    private static final Map<ResponseKey, ParsedResponse> CACHE = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Response> COLLECTED = new ReferenceQueue<>();
+    
+    private final String body;
+    private JsonPath jsonPath;
+    private Object root;
+    private boolean parsed;
+    
+    private ParsedResponse(String body) {
+        this.body = body;
+    }
+    
+    /**
+     * The parsed view of a response, shared by every caller that validates the same response
+     */
+    public static ParsedResponse of(Response response) {
+        expungeCollected();
+        ParsedResponse parsedResponse = CACHE.get(new ResponseKey(response, null));
+        if (parsedResponse == null) {
+            // A concurrent duplicate is harmless and simply discarded
+            ParsedResponse created = new ParsedResponse(response.getBody().asString());
+            parsedResponse = CACHE.putIfAbsent(new ResponseKey(response, COLLECTED), created);
+            if (parsedResponse == null) {
+                parsedResponse = created;
+            }
+        }
+        return parsedResponse;
+    }
+    
+    private static void expungeCollected() {
+        Reference<? extends Response> collected;
+        while ((collected = COLLECTED.poll()) != null) {
+            CACHE.remove(collected);
+        }
+    }
+    
+    /**
+     * Weak reference to a response that compares by identity, so two responses with equal bodies
+     * never share an entry
+     */
+    private static final class ResponseKey extends WeakReference<Response> {
+        private final int hash;
+        
+        private ResponseKey(Response response, ReferenceQueue<Response> queue) {
+            super(response, queue);
+            this.hash = System.identityHashCode(response);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ResponseKey)) {
+                return false;
+            }
+            Response response = get();
+            return response != null && response == ((ResponseKey) other).get();
+        }
+    }
+    
+    public String getBody() {
+        return body;
+    }
+    
+    /**
+     * Value at the given path, with the same result REST Assured's response.jsonPath().get(path) would give
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String path) {
+        Object value = "$".equals(path) || path.isEmpty() ? getRoot() : UNRESOLVED;
+        if (value == UNRESOLVED && SIMPLE_PATH.matcher(path).matches()) {
+            value = navigate(getRoot(), path);
+        }
+        if (value == UNRESOLVED) {
+            value = getJsonPath().get(path);
+        }
+        return (T) value;
+    }
+    
+    public String getString(String path) {
+        Object value = get(path);
+        return value == null ? null : value.toString();
+    }
+    
+    public <T> List<T> getList(String path) {
+        return get(path);
+    }
+    
+    private synchronized Object getRoot() {
+        if (!parsed) {
+            root = getJsonPath().get("$");
+            parsed = true;
+        }
+        return root;
+    }
+    
+    private synchronized JsonPath getJsonPath() {
+        if (jsonPath == null) {
+            jsonPath = JsonPath.from(body);
+        }
+        return jsonPath;
+    }
+    
+    /**
+     * Walk a dotted path with optional list indexes; returns UNRESOLVED where GPath would do something
+     * other than a plain lookup, such as collecting a field across a list
+     */
+    private static Object navigate(Object node, String path) {
+        Object current = node;
+        for (String segment : path.split("\\.")) {
+            int bracket = segment.indexOf('[');
+            String field = bracket < 0 ? segment : segment.substring(0, bracket);
+            if (!field.isEmpty()) {
+                if (current == null) {
+                    return null;
+                }
+                if (!(current instanceof Map)) {
+                    return UNRESOLVED;
+                }
+                current = ((Map<?, ?>) current).get(field);
+            }
+            while (bracket >= 0) {
+                int close = segment.indexOf(']', bracket);
+                int index = Integer.parseInt(segment.substring(bracket + 1, close));
+                if (current == null) {
+                    return null;
+                }
+                if (!(current instanceof List)) {
+                    return UNRESOLVED;
+                }
+                List<?> list = (List<?>) current;
+                current = index < list.size() ? list.get(index) : null;
+                bracket = segment.indexOf('[', close);
+            }
+        }
+        return current;
+    }
+}
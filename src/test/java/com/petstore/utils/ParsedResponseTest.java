@@ -0,0 +1,87 @@
+package com.petstore.utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * The direct lookups of {@link ParsedResponse} give the same values as REST Assured's JsonPath
+ */
+public class ParsedResponseTest {
+    private static final String PET = "{\"id\":42,\"name\":\"Rex\",\"status\":\"available\",\"price\":12.5,"
+            + "\"big\":12345678901,\"sold\":false,\"owner\":null,"
+            + "\"category\":{\"id\":7,\"name\":\"Dogs\"},"
+            + "\"photoUrls\":[\"http://example.com/a.jpg\",\"http://example.com/b.jpg\"],"
+            + "\"tags\":[{\"id\":1,\"name\":\"friendly\"},{\"id\":2,\"name\":\"large\"}],"
+            + "\"matrix\":[[1,2],[3,4]],\"first-name\":\"R\",\"snake_case\":1}";
+    private static final String PETS = "[{\"id\":1,\"name\":\"Rex\",\"tags\":[{\"name\":\"a\"}]},"
+            + "{\"id\":2,\"name\":\"Tom\"}]";
+
+    private static Response response(String body) {
+        return new ResponseBuilder()
+                .setStatusCode(200)
+                .setContentType("application/json")
+                .setBody(body)
+                .build();
+    }
+
+    @DataProvider
+    public Object[][] paths() {
+        return new Object[][] {
+                {PET, "$"},
+                {PET, ""},
+                {PET, "id"},
+                {PET, "name"},
+                {PET, "price"},
+                {PET, "big"},
+                {PET, "sold"},
+                {PET, "owner"},
+                {PET, "missing"},
+                {PET, "category"},
+                {PET, "category.name"},
+                {PET, "category.missing"},
+                {PET, "owner.name"},
+                {PET, "missing.name"},
+                {PET, "photoUrls"},
+                {PET, "photoUrls[1]"},
+                {PET, "photoUrls[5]"},
+                {PET, "tags[0].name"},
+                {PET, "tags[1].id"},
+                {PET, "tags[9].name"},
+                {PET, "matrix[1][0]"},
+                {PET, "first-name"},
+                {PET, "snake_case"},
+                {PETS, "$"},
+                {PETS, "[0].id"},
+                {PETS, "[1].name"},
+                {PETS, "[0].tags[0].name"},
+                {PETS, "[1].tags"},
+                {PETS, "[5].id"},
+                // Not plain lookups; these fall back to JsonPath
+                {PET, "tags.name"},
+                {PET, "tags.size()"},
+                {PET, "name.length()"},
+                {PETS, "name"},
+                {PETS, "findAll { it.id > 1 }.name"},
+        };
+    }
+
+    @Test(dataProvider = "paths")
+    public void getMatchesJsonPath(String body, String path) {
+        Object expected = JsonPath.from(body).get(path);
+        Object actual = ParsedResponse.of(response(body)).get(path);
+        Assert.assertEquals(actual, expected, "Path '" + path + "'");
+    }
+
+    @Test
+    public void responseIsParsedOnce() {
+        Response response = response(PET);
+        ParsedResponse parsed = ParsedResponse.of(response);
+        Assert.assertSame(ParsedResponse.of(response), parsed);
+        Assert.assertNotSame(ParsedResponse.of(response(PET)), parsed,
+                "Equal bodies of different responses are not shared");
+    }
+}
@@ -0,0 +1,107 @@
+package com.petstore.utils;
+
+import com.petstore.config.TestConfig;
+import com.petstore.models.Pet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates many pets concurrently for data-heavy scenarios
+ */
+public class PetBatchProvisioner {
+    private final ApiClient apiClient;
+    private final int parallelism;
+    
+    public PetBatchProvisioner() {
+        this(ApiClient.getInstance(), TestConfig.getInstance().getBatchProvisionParallelism());
+    }
+    
+    public PetBatchProvisioner(ApiClient apiClient, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1 but was " + parallelism);
+        }
+        this.apiClient = apiClient;
+        this.parallelism = parallelism;
+    }
+    
+    /**
+     * Create the given number of pets with random data and the given status,
+     * keeping at most {@code parallelism} create requests in flight
+     */
+    public Result createPets(int count, String status) {
+        List<Pet> pets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Pet pet = TestDataPool.getInstance().nextPet();
+            pet.setStatus(status);
+            pets.add(pet);
+        }
+        BoundedFanOut.Result<Pet, Long> creates = BoundedFanOut.run(pets, parallelism,
+                pet -> apiClient.postAsync("/pet", pet),
+                response -> {
+                    if (response.getStatusCode() != 200) {
+                        throw BoundedFanOut.Failure.status(response);
+                    }
+                    return response.jsonPath().getLong("id");
+                });
+        return new Result(count, creates.getValues(), creates.getFailureCounts(), creates.getElapsed());
+    }
+    
+    /**
+     * Outcome of a provisioning run
+     */
+    public static class Result {
+        private final int requested;
+        private final List<Long> createdIds;
+        private final Map<String, Long> failures;
+        private final Duration elapsed;
+        
+        Result(int requested, List<Long> createdIds, Map<String, Long> failures, Duration elapsed) {
+            this.requested = requested;
+            this.createdIds = Collections.unmodifiableList(createdIds);
+            this.failures = Collections.unmodifiableMap(failures);
+            this.elapsed = elapsed;
+        }
+        
+        public int getRequested() {
+            return requested;
+        }
+        
+        public List<Long> getCreatedIds() {
+            return createdIds;
+        }
+        
+        /**
+         * Failed creates grouped by reason (HTTP status or exception type)
+         */
+        public Map<String, Long> getFailures() {
+            return failures;
+        }
+        
+        public int getFailedCount() {
+            return requested - createdIds.size();
+        }
+        
+        public double getFailureRate() {
+            return requested == 0 ? 0.0 : (double) getFailedCount() / requested;
+        }
+        
+        public Duration getElapsed() {
+            return elapsed;
+        }
+        
+        public double getPetsPerSecond() {
+            return elapsed.isZero() ? 0.0 : createdIds.size() * 1_000_000_000.0 / elapsed.toNanos();
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("Provisioned %d of %d pets in %d ms (%.1f pets/s, failure rate %.1f%%, failures %s)",
+                    createdIds.size(), requested, elapsed.toMillis(), getPetsPerSecond(),
+                    getFailureRate() * 100, failures);
+        }
+    }
+}
@@ -1,10 +1,17 @@
 package com.petstore.utils;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.restassured.response.Response;
 import org.testng.Assert;
 
+import java.util.Objects;
+import java.util.function.Predicate;
+
 /**
- * Utility class for validating API responses
+ * Utility class for validating API responses.
+ * The body is parsed once per response (see ParsedResponse) and failure messages, which include
+ * the body, are only built when an assertion actually fails. The *Streaming and validateEveryElement
+ * methods walk large arrays with a streaming parser instead (see StreamingJsonArray).
  */
 public class ResponseValidator {
     
@@ -13,36 +20,41 @@ public class ResponseValidator {
      */
     public static void validateStatusCode(Response response, int expectedStatusCode) {
         int actualStatusCode = response.getStatusCode();
-        Assert.assertEquals(actualStatusCode, expectedStatusCode, 
-            String.format("Expected status code %d but got %d. Response: %s", 
-                expectedStatusCode, actualStatusCode, response.getBody().asString()));
+        if (actualStatusCode != expectedStatusCode) {
+            Assert.fail(String.format("Expected status code %d but got %d. Response: %s", 
+                expectedStatusCode, actualStatusCode, ParsedResponse.of(response).getBody()));
+        }
     }
     
     /**
      * Validate response contains specific field
      */
     public static void validateFieldExists(Response response, String fieldPath) {
-        Object fieldValue = response.jsonPath().get(fieldPath);
-        Assert.assertNotNull(fieldValue, 
-            String.format("Field '%s' should exist in response but was null. Response: %s", 
-                fieldPath, response.getBody().asString()));
+        ParsedResponse parsed = ParsedResponse.of(response);
+        Object fieldValue = parsed.get(fieldPath);
+        if (fieldValue == null) {
+            Assert.fail(String.format("Field '%s' should exist in response but was null. Response: %s", 
+                fieldPath, parsed.getBody()));
+        }
     }
     
     /**
      * Validate response field value
      */
     public static void validateFieldValue(Response response, String fieldPath, Object expectedValue) {
-        Object actualValue = response.jsonPath().get(fieldPath);
-        Assert.assertEquals(actualValue, expectedValue, 
-            String.format("Field '%s' expected to be '%s' but was '%s'. Response: %s", 
-                fieldPath, expectedValue, actualValue, response.getBody().asString()));
+        ParsedResponse parsed = ParsedResponse.of(response);
+        Object actualValue = parsed.get(fieldPath);
+        if (!Objects.equals(actualValue, expectedValue)) {
+            Assert.fail(String.format("Field '%s' expected to be '%s' but was '%s'. Response: %s", 
+                fieldPath, expectedValue, actualValue, parsed.getBody()));
+        }
     }
     
     /**
      * Validate response is not empty
      */
     public static void validateResponseNotEmpty(Response response) {
-        String responseBody = response.getBody().asString();
+        String responseBody = ParsedResponse.of(response).getBody();
         Assert.assertNotNull(responseBody, "Response body should not be null");
         Assert.assertFalse(responseBody.trim().isEmpty(), "Response body should not be empty");
     }
@@ -51,7 +63,7 @@ public class ResponseValidator {
      * Validate response contains error message
      */
     public static void validateErrorMessage(Response response, String expectedMessage) {
-        String actualMessage = response.jsonPath().getString("message");
+        String actualMessage = ParsedResponse.of(response).getString("message");
         Assert.assertTrue(actualMessage.contains(expectedMessage), 
             String.format("Error message should contain '%s' but was '%s'", 
                 expectedMessage, actualMessage));
@@ -81,7 +93,7 @@ public class ResponseValidator {
      * Validate array response size
      */
     public static void validateArraySize(Response response, String arrayPath, int expectedSize) {
-        int actualSize = response.jsonPath().getList(arrayPath).size();
+        int actualSize = ParsedResponse.of(response).getList(arrayPath).size();
         Assert.assertEquals(actualSize, expectedSize, 
             String.format("Array '%s' expected size %d but was %d", 
                 arrayPath, expectedSize, actualSize));
@@ -91,8 +103,62 @@ public class ResponseValidator {
      * Validate array response is not empty
      */
     public static void validateArrayNotEmpty(Response response, String arrayPath) {
-        int size = response.jsonPath().getList(arrayPath).size();
+        int size = ParsedResponse.of(response).getList(arrayPath).size();
         Assert.assertTrue(size > 0, 
             String.format("Array '%s' should not be empty but had size %d", arrayPath, size));
     }
+    
+    /**
+     * Validate array size by streaming over the elements instead of parsing the whole body
+     */
+    public static void validateArraySizeStreaming(Response response, String arrayPath, int expectedSize) {
+        int actualSize = StreamingJsonArray.forEachElement(response, arrayPath, (index, parser) -> {
+            parser.skipChildren();
+            return true;
+        });
+        Assert.assertEquals(actualSize, expectedSize, 
+            String.format("Array '%s' expected size %d but was %d", 
+                arrayPath, expectedSize, actualSize));
+    }
+    
+    /**
+     * Validate array is not empty by streaming; stops reading at the first element
+     */
+    public static void validateArrayNotEmptyStreaming(Response response, String arrayPath) {
+        int visited = StreamingJsonArray.forEachElement(response, arrayPath, (index, parser) -> false);
+        Assert.assertTrue(visited > 0, 
+            String.format("Array '%s' should not be empty", arrayPath));
+    }
+    
+    /**
+     * Validate every array element matches the predicate by streaming; only one element is held
+     * in memory at a time and validation stops at the first mismatch
+     */
+    public static void validateEveryElement(Response response, String arrayPath, String description,
+                                            Predicate<JsonNode> predicate) {
+        JsonNode[] mismatch = new JsonNode[1];
+        int[] mismatchIndex = {-1};
+        StreamingJsonArray.forEachElement(response, arrayPath, (index, parser) -> {
+            JsonNode element = parser.readValueAsTree();
+            if (predicate.test(element)) {
+                return true;
+            }
+            mismatch[0] = element;
+            mismatchIndex[0] = index;
+            return false;
+        });
+        if (mismatch[0] != null) {
+            Assert.fail(String.format("Every element of '%s' should %s, but element %d did not: %s", 
+                arrayPath, description, mismatchIndex[0], mismatch[0]));
+        }
+    }
+    
+    /**
+     * Validate every array element has the expected value in the given field, e.g. every pet has status "sold"
+     */
+    public static void validateEveryElementFieldValue(Response response, String arrayPath, String field,
+                                                      String expectedValue) {
+        validateEveryElement(response, arrayPath, String.format("have %s '%s'", field, expectedValue),
+            element -> expectedValue.equals(element.path(field).asText(null)));
+    }
 }
@@ -0,0 +1,72 @@
+package com.petstore.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.petstore.models.Order;
+import io.restassured.response.Response;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Typed access to the store endpoints on top of ApiClient, so requests get the same pooling,
+ * retries, deadlines and cleanup tracking as every other call
+ */
+public class StoreClient {
+    private static final String ORDERS = "/store/order";
+    private static final String ORDER = "/store/order/{orderId}";
+    private static final String INVENTORY = "/store/inventory";
+
+    private final ApiClient apiClient;
+
+    public StoreClient() {
+        this(ApiClient.getInstance());
+    }
+
+    public StoreClient(ApiClient apiClient) {
+        this.apiClient = apiClient;
+    }
+
+    /**
+     * Place an order; a successful order is deleted after the scenario like any other created resource
+     */
+    public Response placeOrder(Order order) {
+        return apiClient.post(ORDERS, order);
+    }
+
+    /**
+     * Place an order without waiting for the response
+     */
+    public CompletableFuture<Response> placeOrderAsync(Order order) {
+        return apiClient.postAsync(ORDERS, order);
+    }
+
+    public Response getOrder(long orderId) {
+        return apiClient.get(ORDER, Map.of("orderId", orderId));
+    }
+
+    public CompletableFuture<Response> getOrderAsync(long orderId) {
+        return apiClient.getAsync(ORDER, Map.of("orderId", orderId));
+    }
+
+    public Response deleteOrder(long orderId) {
+        return apiClient.delete(ORDER, Map.of("orderId", orderId));
+    }
+
+    public Response getInventory() {
+        return apiClient.get(INVENTORY);
+    }
+
+    /**
+     * Pet counts keyed by status, read from an inventory response
+     */
+    public static Map<String, Integer> inventoryOf(Response response) {
+        return ObjectMapperProvider.getInstance().read(response, new TypeReference<Map<String, Integer>>() { });
+    }
+
+    /**
+     * Order read from a place or get response
+     */
+    public static Order orderOf(Response response) {
+        return ObjectMapperProvider.getInstance().read(response, Order.class);
+    }
+}
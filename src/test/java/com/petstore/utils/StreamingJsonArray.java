@@ -0,0 +1,81 @@
+package com.petstore.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Walks the elements of a JSON array in a response body with a streaming parser, one element
+ * at a time, without building a String or a tree of the whole body. Memory use is bounded by
+ * the largest single element regardless of how many elements the array has.
+ * The array is addressed by "$" (the body itself) or a dotted path of object fields, e.g. "data.pets".
+ */
+class StreamingJsonArray {
+    /**
+     * Called once per element with the parser positioned on the element's first token.
+     * The visitor must consume the whole element and returns false to stop early.
+     */
+    @FunctionalInterface
+    interface ElementVisitor {
+        boolean visit(int index, JsonParser parser) throws IOException;
+    }
+    
+    private StreamingJsonArray() {
+    }
+    
+    /**
+     * Visit the array's elements in order and return the number visited
+     *
+     * @throws AssertionError if the path does not lead to an array
+     */
+    static int forEachElement(Response response, String arrayPath, ElementVisitor visitor) {
+        try (InputStream body = response.asInputStream();
+             JsonParser parser = ObjectMapperProvider.getInstance().getMapper().createParser(body)) {
+            parser.nextToken();
+            if (!"$".equals(arrayPath) && !arrayPath.isEmpty()) {
+                for (String field : arrayPath.split("\\.")) {
+                    if (!moveToField(parser, field)) {
+                        throw new AssertionError(String.format("Array '%s' not found in response", arrayPath));
+                    }
+                }
+            }
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                throw new AssertionError(String.format("'%s' in response is %s, not an array",
+                        arrayPath, parser.currentToken()));
+            }
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                boolean proceed = visitor.visit(index, parser);
+                index++;
+                if (!proceed) {
+                    break;
+                }
+            }
+            return index;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not parse response body", e);
+        }
+    }
+    
+    /**
+     * Position the parser on the value of the given field of the current object, skipping other fields
+     */
+    private static boolean moveToField(JsonParser parser, String field) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            if (field.equals(name)) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+}
@@ -1,70 +1,80 @@
 package com.petstore.utils;
 
 import com.github.javafaker.Faker;
+import com.petstore.models.Category;
+import com.petstore.models.Pet;
+import com.petstore.models.Tag;
 
-import java.util.Random;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Utility class for generating test data
+ * Utility class for generating test data. Faker is not thread-safe, so every thread gets its own.
  */
 public class TestDataGenerator {
-    private static final Faker faker = new Faker();
-    private static final Random random = new Random();
+    private static final ThreadLocal<Faker> FAKERS = ThreadLocal.withInitial(Faker::new);
+    
+    /**
+     * The calling thread's Faker
+     */
+    static Faker faker() {
+        return FAKERS.get();
+    }
     
     /**
      * Generate a random pet name
      */
     public static String generatePetName() {
-        return faker.animal().name();
+        return faker().animal().name();
     }
     
     /**
-     * Generate a random pet ID
+     * Generate a pet ID that no other thread, CI node or run uses (see IdAllocator)
      */
     public static long generatePetId() {
-        return faker.number().numberBetween(1000L, 999999L);
+        return IdAllocator.getInstance().nextId();
     }
     
     /**
      * Generate a random username
      */
     public static String generateUsername() {
-        return faker.name().username();
+        return faker().name().username();
     }
     
     /**
      * Generate a random email
      */
     public static String generateEmail() {
-        return faker.internet().emailAddress();
+        return faker().internet().emailAddress();
     }
     
     /**
      * Generate a random password
      */
     public static String generatePassword() {
-        return faker.internet().password(8, 16);
+        return faker().internet().password(8, 16);
     }
     
     /**
      * Generate a random first name
      */
     public static String generateFirstName() {
-        return faker.name().firstName();
+        return faker().name().firstName();
     }
     
     /**
      * Generate a random last name
      */
     public static String generateLastName() {
-        return faker.name().lastName();
+        return faker().name().lastName();
     }
     
     /**
      * Generate a random phone number
      */
     public static String generatePhoneNumber() {
-        return faker.phoneNumber().phoneNumber();
+        return faker().phoneNumber().phoneNumber();
     }
     
     /**
@@ -72,7 +82,7 @@ public class TestDataGenerator {
      */
     public static String generatePetStatus() {
         String[] statuses = {"available", "pending", "sold"};
-        return statuses[random.nextInt(statuses.length)];
+        return statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
     }
     
     /**
@@ -80,14 +90,14 @@ public class TestDataGenerator {
      */
     public static String generateOrderStatus() {
         String[] statuses = {"placed", "approved", "delivered"};
-        return statuses[random.nextInt(statuses.length)];
+        return statuses[ThreadLocalRandom.current().nextInt(statuses.length)];
     }
     
     /**
      * Generate a random quantity
      */
     public static int generateQuantity() {
-        return faker.number().numberBetween(1, 10);
+        return ThreadLocalRandom.current().nextInt(1, 10);
     }
     
     /**
@@ -95,13 +105,38 @@ public class TestDataGenerator {
      */
     public static String generateCategoryName() {
         String[] categories = {"Dogs", "Cats", "Birds", "Fish", "Reptiles", "Small Pets"};
-        return categories[random.nextInt(categories.length)];
+        return categories[ThreadLocalRandom.current().nextInt(categories.length)];
     }
     
     /**
      * Generate a random tag name
      */
     public static String generateTagName() {
-        return faker.lorem().word();
+        return faker().lorem().word();
+    }
+    
+    /**
+     * Generate a valid pet with random name, status, category and tag
+     */
+    public static Pet generatePet() {
+        Pet pet = new Pet();
+        pet.setId(generatePetId());
+        pet.setName(generatePetName());
+        pet.setStatus(generatePetStatus());
+        pet.setPhotoUrls(Arrays.asList("http://example.com/photo1.jpg", "http://example.com/photo2.jpg"));
+        
+        // Add category
+        Category category = new Category();
+        category.setId(1L);
+        category.setName(generateCategoryName());
+        pet.setCategory(category);
+        
+        // Add tags
+        Tag tag = new Tag();
+        tag.setId(1L);
+        tag.setName(generateTagName());
+        pet.setTags(Arrays.asList(tag));
+        
+        return pet;
     }
 }
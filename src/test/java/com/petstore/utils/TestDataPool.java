@@ -0,0 +1,215 @@
+package com.petstore.utils;
+
+import com.github.javafaker.Faker;
+import com.petstore.config.TestConfig;
+import com.petstore.fixtures.FixtureCodec;
+import com.petstore.fixtures.FixtureCodecs;
+import com.petstore.fixtures.FixtureStore;
+import com.petstore.models.Category;
+import com.petstore.models.Order;
+import com.petstore.models.Pet;
+import com.petstore.models.Tag;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Corpus of pet and order data prepared once and handed out to scenarios, so Faker's slow resolvers
+ * never run on a scenario thread. Fixture files in test.data.path (pets.json or pets.csv, orders.json or
+ * orders.csv) are compiled once into a binary FixtureStore and read through a memory mapping; without
+ * fixture files the corpus is generated in parallel with one Faker per thread (Faker is not thread-safe).
+ * Every handed out entry is a fresh object with a new unique id and lists of its own, which callers may
+ * change; picking an entry only reads the immutable corpus, so callers never wait on each other.
+ */
+public class TestDataPool {
+    private static final List<String> PHOTO_URLS =
+            List.of("http://example.com/photo1.jpg", "http://example.com/photo2.jpg");
+
+    private final IntFunction<Pet> pets;
+    private final int petCount;
+    private final IntFunction<Order> orders;
+    private final int orderCount;
+    private final String source;
+
+    /**
+     * @param pets   returns a new pet for every corpus index below petCount
+     * @param orders returns a new order for every corpus index below orderCount
+     */
+    TestDataPool(IntFunction<Pet> pets, int petCount, IntFunction<Order> orders, int orderCount, String source) {
+        if (petCount == 0 || orderCount == 0) {
+            throw new IllegalArgumentException("Test data pool needs at least one pet and one order");
+        }
+        this.pets = pets;
+        this.petCount = petCount;
+        this.orders = orders;
+        this.orderCount = orderCount;
+        this.source = source;
+    }
+
+    /**
+     * Lazily created on first use; the holder class makes initialisation thread-safe without locking
+     */
+    private static class Holder {
+        private static final TestDataPool INSTANCE = fromConfig(TestConfig.getInstance());
+    }
+
+    public static TestDataPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    static TestDataPool fromConfig(TestConfig config) {
+        long start = System.nanoTime();
+        Path dataPath = Paths.get(config.getTestDataPath());
+        Path cachePath = Paths.get(config.getFixturesCachePath());
+        int size = config.getDataPoolSize();
+
+        IntFunction<Pet> pets;
+        int petCount;
+        String petSource;
+        Path petsFile = fixtureFile(dataPath, "pets");
+        if (petsFile != null) {
+            FixtureStore<Pet> store = openFixtures(petsFile, cachePath, FixtureCodecs.PETS);
+            pets = store::get;
+            petCount = store.size();
+            petSource = store.toString();
+        } else {
+            Pet[] generated = generatePets(size);
+            pets = index -> copy(generated[index]);
+            petCount = generated.length;
+            petSource = petCount + " generated pets";
+        }
+
+        IntFunction<Order> orders;
+        int orderCount;
+        String orderSource;
+        Path ordersFile = fixtureFile(dataPath, "orders");
+        if (ordersFile != null) {
+            FixtureStore<Order> store = openFixtures(ordersFile, cachePath, FixtureCodecs.ORDERS);
+            orders = store::get;
+            orderCount = store.size();
+            orderSource = store.toString();
+        } else {
+            Order[] generated = generateOrders(size);
+            orders = index -> copy(generated[index]);
+            orderCount = generated.length;
+            orderSource = orderCount + " generated orders";
+        }
+
+        return new TestDataPool(pets, petCount, orders, orderCount, String.format("%s, %s, ready in %d ms",
+                petSource, orderSource, (System.nanoTime() - start) / 1_000_000));
+    }
+
+    private static Path fixtureFile(Path dataPath, String name) {
+        for (String extension : new String[] {".json", ".csv"}) {
+            Path file = dataPath.resolve(name + extension);
+            if (Files.isRegularFile(file)) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static <T> FixtureStore<T> openFixtures(Path file, Path cachePath, FixtureCodec<T> codec) {
+        try {
+            return FixtureStore.open(file, cachePath, codec);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error loading test data from " + file, e);
+        }
+    }
+
+    static Pet[] generatePets(int count) {
+        return IntStream.range(0, count).parallel()
+                .mapToObj(i -> {
+                    Faker faker = TestDataGenerator.faker();
+                    Pet pet = new Pet();
+                    pet.setName(faker.animal().name());
+                    pet.setStatus(TestDataGenerator.generatePetStatus());
+                    pet.setCategory(new Category(1L, TestDataGenerator.generateCategoryName()));
+                    pet.setTags(List.of(new Tag(1L, faker.lorem().word())));
+                    return pet;
+                })
+                .toArray(Pet[]::new);
+    }
+
+    static Order[] generateOrders(int count) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        return IntStream.range(0, count).parallel()
+                .mapToObj(i -> {
+                    Order order = new Order();
+                    order.setQuantity(TestDataGenerator.generateQuantity());
+                    order.setStatus(TestDataGenerator.generateOrderStatus());
+                    order.setShipDate(now.plus(ThreadLocalRandom.current().nextInt(1, 30), ChronoUnit.DAYS).toString());
+                    order.setComplete(false);
+                    return order;
+                })
+                .toArray(Order[]::new);
+    }
+
+    /**
+     * A valid pet with a new unique id, taken from a random corpus entry
+     */
+    public Pet nextPet() {
+        Pet pet = pets.apply(ThreadLocalRandom.current().nextInt(petCount));
+        pet.setId(IdAllocator.getInstance().nextId());
+        if (pet.getPhotoUrls() == null) {
+            pet.setPhotoUrls(new ArrayList<>(PHOTO_URLS));
+        }
+        return pet;
+    }
+
+    /**
+     * An order for the given pet with a new unique id, taken from a random corpus entry
+     */
+    public Order nextOrder(Long petId) {
+        Order order = orders.apply(ThreadLocalRandom.current().nextInt(orderCount));
+        order.setId(IdAllocator.getInstance().nextId());
+        order.setPetId(petId);
+        return order;
+    }
+
+    private static Pet copy(Pet template) {
+        Pet pet = new Pet();
+        pet.setName(template.getName());
+        pet.setStatus(template.getStatus());
+        Category category = template.getCategory();
+        if (category != null) {
+            pet.setCategory(new Category(category.getId(), category.getName()));
+        }
+        if (template.getTags() != null) {
+            List<Tag> tags = new ArrayList<>(template.getTags().size());
+            for (Tag tag : template.getTags()) {
+                tags.add(new Tag(tag.getId(), tag.getName()));
+            }
+            pet.setTags(tags);
+        }
+        return pet;
+    }
+
+    private static Order copy(Order template) {
+        return new Order(null, null, template.getQuantity(), template.getShipDate(),
+                template.getStatus(), template.getComplete());
+    }
+
+    public int getPetCount() {
+        return petCount;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TestDataPool{" + source + "}";
+    }
+}
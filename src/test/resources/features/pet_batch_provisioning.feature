@@ -0,0 +1,13 @@
+@pet @batch
+Feature: Bulk Pet Provisioning
+  As a test engineer
+  I want to seed many pets at once
+  So that data-heavy scenarios start from a populated store
+
+  Background:
+    Given the Petstore API is available
+
+  @create @positive
+  Scenario: Provision pets in bulk
+    Given I have created 25 pets with status "available"
+    Then all 25 pets should be created successfully
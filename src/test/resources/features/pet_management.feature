@@ -22,6 +22,13 @@ Feature: Pet Management
     When I retrieve the pet by its ID immediately
     Then the pet details should be returned or handled appropriately
 
+  @read @positive
+  Scenario: Find pets by status
+    Given I have created a pet with status "available"
+    When I find pets by status "available"
+    Then the returned pet list should not be empty
+    And every returned pet should have status "available"
+
   @update @positive
   Scenario: Update pet status successfully
     Given I have created a pet with status "available"
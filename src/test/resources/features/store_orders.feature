@@ -0,0 +1,41 @@
+@store
+Feature: Store Orders
+  As a pet store customer
+  I want to order pets from the store
+  So that I can buy the pets I want
+
+  Background:
+    Given the Petstore API is available
+    And a pet is available for purchase
+
+  @create @positive
+  Scenario: Place an order for a pet
+    When I place an order for the pet
+    Then the order should be placed successfully
+
+  @read @positive
+  Scenario: Retrieve an order by its ID
+    Given I have placed an order for the pet
+    When I retrieve the order by its ID
+    Then the order details should match the placed order
+
+  @delete @positive
+  Scenario: Delete an order
+    Given I have placed an order for the pet
+    When I delete the order
+    Then the order should be deleted successfully
+    And the order should no longer be found
+
+  @read @positive
+  Scenario: Retrieve the store inventory
+    When I retrieve the store inventory
+    Then the inventory should list a count for status "available"
+
+  # The oversell check only means something against a server that sells each pet once, such as the stub
+  # server; against the public demo server, which accepts every order, the last step records and skips
+  @concurrency
+  Scenario: Many buyers order the same pet at once
+    When 20 buyers order the pet at the same time
+    Then at least one buyer's order should be accepted
+    And no accepted order should be lost
+    And the pet should not be oversold